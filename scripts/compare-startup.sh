@@ -0,0 +1,68 @@
+#!/usr/bin/env bash
+# 기본 설정과 fast-startup 프로필(AOT + CDS + 정적 OpenAPI + validate + 지연 초기화)의 시작 시간과 첫 요청 지연을 비교한다.
+# 사용법: scripts/compare-startup.sh [runs]
+# 두 모드 모두 같은 H2 파일 DB(MySQL 모드)를 사용하므로 MySQL 은 필요 없다.
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-8080}
+RESULT_DIR=build/reports/startup
+DB_URL="jdbc:h2:file:$PWD/$RESULT_DIR/db;MODE=MySQL;NON_KEYWORDS=USER"
+DB_ARGS=(--spring.datasource.url="$DB_URL" --spring.datasource.username=sa --spring.datasource.password=)
+rm -rf "$RESULT_DIR"
+mkdir -p "$RESULT_DIR"
+
+# 기본 jar 는 fast-startup 빌드가 덮어쓰므로 먼저 복사해 둔다.
+./gradlew -q bootJar -PbundleH2
+JAR=$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)
+cp "$JAR" "$RESULT_DIR/default.jar"
+./gradlew -q cdsArchive -PfastStartup -PbundleH2
+CDS_JAR=$(basename "$JAR")
+
+now_ms() { date +%s%3N; }
+
+# 첫 요청: 공개 키 조회(컨트롤러 + JSON 직렬화)와 없는 사용자 로그인(요청 본문 파싱 + 오류 응답)
+first_request_ms() {
+  local jwks login
+  jwks=$(curl -s -o /dev/null -w '%{time_total}' "http://localhost:$PORT/.well-known/jwks.json")
+  login=$(curl -s -o /dev/null -w '%{time_total}' -H 'Content-Type: application/json' \
+    -d '{"username":"startup-probe","password":"startup-probe"}' "http://localhost:$PORT/login")
+  awk -v a="$jwks" -v b="$login" 'BEGIN { printf "%.0f %.0f", a * 1000, b * 1000 }'
+}
+
+run_once() {
+  local mode=$1 run=$2
+  local log="$RESULT_DIR/server-$mode-$run.log"
+  local started pid
+  started=$(now_ms)
+  if [ "$mode" = default ]; then
+    java -jar "$RESULT_DIR/default.jar" --server.port="$PORT" "${DB_ARGS[@]}" > "$log" 2>&1 &
+  else
+    (cd build/cds && exec java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+      -jar "$CDS_JAR" --server.port="$PORT" --spring.profiles.active=fast-startup "${DB_ARGS[@]}") > "$log" 2>&1 &
+  fi
+  pid=$!
+  trap "kill $pid 2>/dev/null || true" EXIT
+
+  until curl -s -o /dev/null -f "http://localhost:$PORT/actuator/health"; do sleep 0.05; done
+  local ready=$(( $(now_ms) - started ))
+  local first
+  first=$(first_request_ms)
+  local jvm
+  jvm=$(grep -o 'Started AssignmentApplication in [0-9.]* seconds' "$log" | grep -o '[0-9.]*' || echo '-')
+
+  kill "$pid"; wait "$pid" 2>/dev/null || true
+  trap - EXIT
+  echo "$mode $run $ready $jvm $first" | tee -a "$RESULT_DIR/results.txt"
+}
+
+echo "mode run ready_ms started_s jwks_ms login_ms" | tee "$RESULT_DIR/results.txt"
+# 첫 기본 실행이 스키마를 만든다(ddl-auto: update). fast-startup 은 같은 스키마를 검증만 한다.
+for run in $(seq 1 "$RUNS"); do
+  run_once default "$run"
+  run_once fast-startup "$run"
+done
+
+awk 'NR > 1 { n[$1]++; ready[$1] += $3; jwks[$1] += $5; login[$1] += $6 }
+     END { for (m in n) printf "%-13s ready %6.0fms  first jwks %5.0fms  first login %5.0fms  (avg of %d)\n",
+           m, ready[m] / n[m], jwks[m] / n[m], login[m] / n[m], n[m] }' "$RESULT_DIR/results.txt"
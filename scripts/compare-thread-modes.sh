@@ -0,0 +1,41 @@
+#!/usr/bin/env bash
+# 플랫폼 스레드(기본)와 가상 스레드(virtual 프로필) 모드를 같은 부하로 비교한다.
+# 사용법: scripts/compare-thread-modes.sh [scenario] [concurrency] [duration]
+# Java 21 JDK 가 필요하다. 서버는 loadtest 프로필(H2)로 띄우므로 MySQL 은 필요 없다.
+# LOADTEST_JWT_SECRET, LOADTEST_ADMIN_PASSWORD 가 없으면 이번 실행에만 쓸 값을 만든다.
+set -euo pipefail
+
+SCENARIO=${1:-mixed}
+CONCURRENCY=${2:-400}
+DURATION=${3:-60}
+PORT=${PORT:-8080}
+RESULT_DIR=build/reports/loadtest
+mkdir -p "$RESULT_DIR"
+export LOADTEST_JWT_SECRET=${LOADTEST_JWT_SECRET:-$(openssl rand -base64 32)}
+export LOADTEST_ADMIN_PASSWORD=${LOADTEST_ADMIN_PASSWORD:-$(openssl rand -hex 16)}
+
+./gradlew -q bootJar -PjavaVersion=21 -PbundleH2
+JAR=$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)
+
+run_mode() {
+  local mode=$1 profile=$2
+  local log="$RESULT_DIR/server-$mode.log"
+  java -Djdk.tracePinnedThreads=short -jar "$JAR" \
+    --server.port="$PORT" \
+    --spring.profiles.active="$profile" \
+    > "$log" 2>&1 &
+  local pid=$!
+  trap "kill $pid 2>/dev/null || true" EXIT
+
+  until curl -s -o /dev/null "http://localhost:$PORT/"; do sleep 1; done
+
+  ./gradlew -q loadTest -PjavaVersion=21 --args="--base-url=http://localhost:$PORT --scenario=$SCENARIO --concurrency=$CONCURRENCY --duration=$DURATION --report-dir=$RESULT_DIR/$mode" \
+    | tee "$RESULT_DIR/$SCENARIO-$mode.txt"
+
+  kill "$pid"; wait "$pid" 2>/dev/null || true
+  trap - EXIT
+  echo "pinned thread traces ($mode): $(grep -c 'VirtualThread' "$log" || true)"
+}
+
+run_mode platform loadtest
+run_mode virtual loadtest,virtual
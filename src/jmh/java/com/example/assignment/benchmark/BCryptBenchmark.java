@@ -0,0 +1,38 @@
+package com.example.assignment.benchmark;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class BCryptBenchmark {
+
+    private static final char[] PASSWORD = "benchmark-password".toCharArray();
+
+    @Param({"10", "11", "12", "13", "14"})
+    private int cost;
+
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        hash = BCrypt.withDefaults().hashToString(cost, PASSWORD);
+    }
+
+    @Benchmark
+    public String hash() {
+        return BCrypt.withDefaults().hashToString(cost, PASSWORD);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return BCrypt.verifyer().verify(PASSWORD, hash).verified;
+    }
+}
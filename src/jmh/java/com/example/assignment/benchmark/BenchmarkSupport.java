@@ -0,0 +1,23 @@
+package com.example.assignment.benchmark;
+
+import com.example.assignment.config.JwtUtil;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+final class BenchmarkSupport {
+
+    private static final String SECRET = "benchmarksecretbenchmarksecretbenchmarksecret";
+
+    private BenchmarkSupport() {
+    }
+
+    static JwtUtil jwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        String base64Secret = Base64.getEncoder().encodeToString(SECRET.getBytes(StandardCharsets.UTF_8));
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", base64Secret);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
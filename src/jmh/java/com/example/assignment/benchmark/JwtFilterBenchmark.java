@@ -0,0 +1,71 @@
+package com.example.assignment.benchmark;
+
+import com.example.assignment.config.JwtFilter;
+import com.example.assignment.config.JwtUtil;
+import com.example.assignment.config.VerifiedTokenCache;
+import com.example.assignment.domain.audit.service.AuthAuditLog;
+import com.example.assignment.domain.user.service.TokenVersionStore;
+import com.example.assignment.domain.user.enums.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+
+@State(Scope.Thread)
+public class JwtFilterBenchmark {
+
+    @Param({"true", "false"})
+    private boolean tokenCacheEnabled;
+
+    private JwtFilter jwtFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+    private Authentication authentication;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = BenchmarkSupport.jwtUtil();
+        // 버전을 미리 채워 두면 저장소 조회 없이 캐시에서만 확인한다.
+        TokenVersionStore tokenVersionStore = new TokenVersionStore(null, 1_000, Duration.ofDays(1));
+        tokenVersionStore.update(1L, 0);
+        // 유효한 토큰만 보내므로 감사 로그는 남지 않는다.
+        AuthAuditLog authAuditLog = new AuthAuditLog(null, false, 1, 1, Duration.ZERO,
+                AuthAuditLog.OverflowPolicy.DROP, Duration.ZERO, new SimpleMeterRegistry());
+        jwtFilter = new JwtFilter(jwtUtil, new VerifiedTokenCache(tokenCacheEnabled, 10_000), tokenVersionStore,
+                authAuditLog, new SimpleMeterRegistry());
+
+        request = new MockHttpServletRequest("PATCH", "/admin/users/1/roles");
+        request.addHeader("Authorization", jwtUtil.createToken(1L, "benchmark-user", UserRole.ADMIN));
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> authentication = SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Authentication doFilter() throws Exception {
+        jwtFilter.doFilter(request, response, chain);
+        SecurityContextHolder.clearContext();
+        request.clearAttributes();
+        return authentication;
+    }
+
+    /**
+     * 서블릿 필터와 시큐리티 체인에 중복 등록된 경우. 두 번째 통과는 요청 속성 확인만 한다.
+     */
+    @Benchmark
+    public Authentication doFilterRegisteredTwice() throws Exception {
+        jwtFilter.doFilter(request, response, (req, res) -> jwtFilter.doFilter(req, res, chain));
+        SecurityContextHolder.clearContext();
+        request.clearAttributes();
+        return authentication;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.assignment.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.security.Key;
+import java.security.KeyPair;
+import java.util.Date;
+
+/**
+ * 같은 클레임으로 HS256 과 ES256 의 서명/검증 비용을 비교한다.
+ * ES256 검증은 HS256 보다 훨씬 비싸므로 JwtFilter 의 검증 캐시 적중률이 더 중요해진다.
+ */
+@State(Scope.Benchmark)
+public class JwtSigningBenchmark {
+
+    @Param({"HS256", "ES256"})
+    private String algorithm;
+
+    private SignatureAlgorithm signatureAlgorithm;
+    private Key signingKey;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        signatureAlgorithm = SignatureAlgorithm.forName(algorithm);
+        if (signatureAlgorithm == SignatureAlgorithm.HS256) {
+            signingKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+            parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        } else {
+            KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+            signingKey = keyPair.getPrivate();
+            parser = Jwts.parserBuilder().setSigningKey(keyPair.getPublic()).build();
+        }
+        token = sign();
+    }
+
+    @Benchmark
+    public String sign() {
+        Date now = new Date();
+        return Jwts.builder()
+                .setHeaderParam("kid", "benchmark-key")
+                .setSubject("1")
+                .claim("username", "benchmark-user")
+                .claim("userRole", "USER")
+                .claim("ver", 0)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + 900_000))
+                .signWith(signingKey, signatureAlgorithm)
+                .compact();
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return parser.parseClaimsJws(token).getBody();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.assignment.benchmark;
+
+import com.example.assignment.config.AccessTokenClaims;
+import com.example.assignment.config.JwtUtil;
+import com.example.assignment.domain.user.enums.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Date;
+
+/**
+ * JwtCodec(createToken, verifyToken)과 jjwt(createTokenWithJjwt, extractClaims)를 비교한다.
+ * 할당량은 gc 프로파일러의 gc.alloc.rate.norm(B/op)으로 본다.
+ */
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private Key key;
+    private String bearerToken;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = BenchmarkSupport.jwtUtil();
+        key = (Key) ReflectionTestUtils.getField(jwtUtil, "key");
+        bearerToken = jwtUtil.createToken(1L, "benchmark-user", UserRole.USER);
+        token = jwtUtil.substringToken(bearerToken);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return jwtUtil.createToken(1L, "benchmark-user", UserRole.USER);
+    }
+
+    @Benchmark
+    public String createTokenWithJjwt() {
+        Date now = new Date();
+        return "Bearer " + Jwts.builder()
+                .setSubject("1")
+                .claim("username", "benchmark-user")
+                .claim("userRole", UserRole.USER.name())
+                .claim("ver", 0)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + 900_000))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public AccessTokenClaims verifyToken() {
+        return jwtUtil.verifyToken(token);
+    }
+
+    @Benchmark
+    public Claims extractClaims() {
+        return jwtUtil.extractClaims(token);
+    }
+
+    @Benchmark
+    public String substringToken() {
+        return jwtUtil.substringToken(bearerToken);
+    }
+}
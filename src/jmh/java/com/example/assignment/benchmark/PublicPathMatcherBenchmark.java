@@ -0,0 +1,41 @@
+package com.example.assignment.benchmark;
+
+import com.example.assignment.config.PublicPaths;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * 공개 경로 판별 비용: 이전 startsWith 체인, 패턴마다 AntPathMatcher, 미리 컴파일한 PublicPaths.
+ */
+@State(Scope.Benchmark)
+public class PublicPathMatcherBenchmark {
+
+    private final AntPathMatcher antPathMatcher = new AntPathMatcher();
+
+    @Param({"/admin/users/15/roles", "/login", "/swagger-ui/index.html"})
+    private String uri;
+
+    @Benchmark
+    public boolean legacyStartsWithChain() {
+        return uri.startsWith("/signup") || uri.startsWith("/login") || uri.startsWith("/swagger")
+                || uri.startsWith("/v3/api-docs") || uri.startsWith("/swagger-ui") || uri.startsWith("/favicon.ico");
+    }
+
+    @Benchmark
+    public boolean antPathMatcher() {
+        for (String pattern : PublicPaths.PATTERNS) {
+            if (antPathMatcher.match(pattern, uri)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean compiledPublicPaths() {
+        return PublicPaths.matches(uri);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.assignment.benchmark;
+
+import com.example.assignment.AssignmentApplication;
+import com.example.assignment.domain.user.entity.User;
+import com.example.assignment.domain.user.enums.UserRole;
+import com.example.assignment.domain.user.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 샤드 수에 따른 동시 가입(INSERT) 처리량. 샤드마다 별도의 H2 인메모리 DB 를 사용한다.
+ * 비밀번호 해싱은 빼고 UserRepository.save 만 측정한다. shards=1 은 라우터만 거치는 기준값이다.
+ */
+@State(Scope.Benchmark)
+@Threads(8)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 10)
+public class ShardedSignupBenchmark {
+
+    // 가입 경로의 해시 길이에 맞춘 고정 값
+    private static final String PASSWORD_HASH = "$2a$12$" + "x".repeat(53);
+
+    @Param({"1", "2", "4", "8"})
+    public int shards;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+
+    @Setup
+    public void setUp() {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + url(0),
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                "--spring.sql.init.mode=never",
+                "--password.hasher.calibrate=false",
+                "--user.sharding.enabled=true"
+        ));
+        for (int shard = 1; shard < shards; shard++) {
+            String prefix = "--user.sharding.shards[" + (shard - 1) + "].";
+            args.add(prefix + "jdbc-url=" + url(shard));
+            args.add(prefix + "username=sa");
+            args.add(prefix + "password=");
+        }
+        context = new SpringApplicationBuilder(AssignmentApplication.class).run(args.toArray(String[]::new));
+        userRepository = context.getBean(UserRepository.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public User signup() {
+        long n = sequence.incrementAndGet();
+        return userRepository.save(User.builder()
+                .username("bench-user-" + n)
+                .password(PASSWORD_HASH)
+                .nickname("nick" + n)
+                .role(UserRole.USER)
+                .build());
+    }
+
+    private static String url(int shard) {
+        return "jdbc:h2:mem:shard-bench-" + shard + ";MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1";
+    }
+}
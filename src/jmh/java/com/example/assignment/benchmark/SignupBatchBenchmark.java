@@ -0,0 +1,82 @@
+package com.example.assignment.benchmark;
+
+import com.example.assignment.AssignmentApplication;
+import com.example.assignment.domain.user.dto.request.SignupRequest;
+import com.example.assignment.domain.user.dto.response.SignupBatchResponse;
+import com.example.assignment.domain.user.service.UserBatchService;
+import com.example.assignment.domain.user.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 단건 가입 반복과 배치 가입의 사용자 수 기준 처리량 비교 (H2 인메모리 DB).
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 20)
+public class SignupBatchBenchmark {
+
+    private static final int USERS_PER_INVOCATION = 200;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private UserBatchService userBatchService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(AssignmentApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:signup-bench;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                "--spring.sql.init.mode=never"
+        );
+        userService = context.getBean(UserService.class);
+        userBatchService = context.getBean(UserBatchService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS_PER_INVOCATION)
+    public int singleRowSignup() {
+        for (SignupRequest request : nextRequests()) {
+            userService.signup(request);
+        }
+        return USERS_PER_INVOCATION;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS_PER_INVOCATION)
+    public SignupBatchResponse batchSignup() {
+        return userBatchService.signupBatch("ADMIN", nextRequests());
+    }
+
+    private List<SignupRequest> nextRequests() {
+        List<SignupRequest> requests = new ArrayList<>(USERS_PER_INVOCATION);
+        for (int i = 0; i < USERS_PER_INVOCATION; i++) {
+            long n = sequence.incrementAndGet();
+            requests.add(new SignupRequest("bench-user-" + n, "password" + n, "nick" + n));
+        }
+        return requests;
+    }
+}
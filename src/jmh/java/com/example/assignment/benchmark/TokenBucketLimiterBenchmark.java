@@ -0,0 +1,40 @@
+package com.example.assignment.benchmark;
+
+import com.example.assignment.global.ratelimit.TokenBucketLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 경합 상황에서 제한기 한 번 호출의 비용. keys=1 은 단일 키에 모든 스레드가 몰리는 최악의 경우다.
+ */
+@State(Scope.Benchmark)
+@Threads(8)
+public class TokenBucketLimiterBenchmark {
+
+    @Param({"1", "10000", "1000000"})
+    private int keys;
+
+    private TokenBucketLimiter limiter;
+    private String[] keyPool;
+
+    @Setup
+    public void setUp() {
+        limiter = new TokenBucketLimiter(1_000_000, Duration.ofSeconds(1), 2_000_000);
+        keyPool = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            keyPool[i] = "10.0." + (i >>> 8) + "." + (i & 0xFF);
+        }
+    }
+
+    @Benchmark
+    public long tryAcquire() {
+        return limiter.tryAcquire(keyPool[ThreadLocalRandom.current().nextInt(keys)]);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.assignment.benchmark;
+
+import com.example.assignment.config.JwtUtil;
+import com.example.assignment.domain.user.enums.UserRole;
+import com.example.assignment.domain.user.service.RefreshTokenService;
+import com.example.assignment.domain.user.service.RefreshTokenStore;
+import com.example.assignment.global.password.BCryptPasswordHasher;
+import com.example.assignment.global.password.PasswordHasher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * 세션 갱신 비용 비교: 로그인(비밀번호 검증 + 토큰 발급) vs 리프레시(저장소 교체 + 토큰 발급).
+ * 두 경로 모두 DB 왕복은 제외하고 CPU 비용만 측정한다.
+ */
+@State(Scope.Thread)
+public class TokenRenewalBenchmark {
+
+    private static final char[] PASSWORD = "benchmark-password".toCharArray();
+    private static final long ONE_DAY = 24 * 60 * 60 * 1000L;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+
+    private JwtUtil jwtUtil;
+    private PasswordHasher passwordHasher;
+    private String passwordHash;
+    private RefreshTokenStore refreshTokenStore;
+    private String currentRefreshToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = BenchmarkSupport.jwtUtil();
+        passwordHasher = new BCryptPasswordHasher(12);
+        passwordHash = passwordHasher.hash(PASSWORD);
+        refreshTokenStore = new RefreshTokenStore(100_000);
+        currentRefreshToken = newRefreshToken();
+    }
+
+    @Benchmark
+    public String login() {
+        if (!passwordHasher.verify(PASSWORD, passwordHash)) {
+            throw new IllegalStateException();
+        }
+        return jwtUtil.createToken(1L, "benchmark-user", UserRole.USER, 0);
+    }
+
+    @Benchmark
+    public String refresh() {
+        String tokenHash = RefreshTokenService.hash(currentRefreshToken);
+        RefreshTokenStore.Entry entry = refreshTokenStore.get(tokenHash);
+        refreshTokenStore.remove(tokenHash);
+        currentRefreshToken = newRefreshToken();
+        return jwtUtil.createToken(entry.userId(), "benchmark-user", UserRole.USER, 0);
+    }
+
+    private String newRefreshToken() {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String rawToken = encoder.encodeToString(bytes);
+        refreshTokenStore.put(RefreshTokenService.hash(rawToken), 1L, System.currentTimeMillis() + ONE_DAY);
+        return rawToken;
+    }
+}
@@ -0,0 +1,377 @@
+package com.example.assignment.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 실행 중인 서버에 고정 동시성으로 요청을 보내고 시나리오별 처리량, 오류율, 지연 시간 분포를 출력한다.
+ * MySQL 없이 돌리려면 서버를 loadtest 프로필(H2)로 띄운다.
+ *
+ * <pre>
+ * --base-url=http://localhost:8080
+ * --scenario=mixed | signup | login | admin | authenticated | invalid | expired
+ * --mix=signup:10,login:30,admin:30,invalid:15,expired:15   mixed 일 때 시나리오 비중
+ * --concurrency=200        동시 요청 수
+ * --duration=60            측정 시간(초)
+ * --warmup=10              측정 전 워밍업 시간(초)
+ * --users=100              준비 단계에서 가입/로그인할 사용자 수
+ * --admin-username=admin   loadtest 프로필이 만드는 관리자 계정. 기본값은 LOADTEST_ADMIN_USERNAME 또는 admin
+ * --admin-password=...     기본값은 서버와 같은 LOADTEST_ADMIN_PASSWORD
+ * --jwt-secret=...         만료 토큰을 만들 서버 키(Base64). 기본값은 서버와 같은 LOADTEST_JWT_SECRET
+ * --report-dir=build/reports/loadtest   시나리오별 HdrHistogram 분포(.hgrm) 저장 위치
+ * </pre>
+ *
+ * 서버의 로그인 제한(auth.throttle)에 걸리지 않도록 loadtest 프로필을 쓰거나 --auth.throttle.enabled=false 로 띄워야 한다.
+ */
+public class LoadTest {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern SUBJECT = Pattern.compile("\"sub\"\\s*:\\s*\"(\\d+)\"");
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    /**
+     * 각 시나리오와 정상으로 보는 응답 코드.
+     */
+    enum Scenario {
+        SIGNUP(200),            // 매번 새 username 으로 POST /signup
+        LOGIN(200),             // 준비된 사용자로 POST /login (BCrypt 검증)
+        ADMIN(200),             // 관리자 토큰으로 PATCH /admin/users/{id}/roles
+        AUTHENTICATED(403),     // 일반 사용자 토큰으로 관리자 API 호출. 인증은 통과하고 인가에서 거절된다
+        INVALID(401),           // 서명이 깨진 토큰
+        EXPIRED(401);           // 서버 키로 서명했지만 만료된 토큰
+
+        private final int expectedStatus;
+
+        Scenario(int expectedStatus) {
+            this.expectedStatus = expectedStatus;
+        }
+    }
+
+    private final String baseUrl;
+    private final String scenario;
+    private final int concurrency;
+    private final Duration duration;
+    private final Duration warmup;
+    private final int users;
+    private final String adminUsername;
+    private final String adminPassword;
+    private final byte[] jwtSecret;
+    private final Path reportDir;
+    private final Scenario[] weighted;
+    private final HttpClient client;
+
+    private final String runId = "lt" + Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong signupSequence = new AtomicLong();
+    private final List<String> usernames = new ArrayList<>();
+    private final List<String> tokens = new ArrayList<>();
+    private final List<Long> userIds = new ArrayList<>();
+    private String adminToken;
+    private String invalidToken;
+    private String expiredToken;
+
+    public LoadTest(Map<String, String> options) {
+        this.baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        this.scenario = options.getOrDefault("scenario", "mixed");
+        this.concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        this.duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        this.warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        this.users = Integer.parseInt(options.getOrDefault("users", "100"));
+        this.adminUsername = options.getOrDefault("admin-username",
+                Objects.requireNonNullElse(System.getenv("LOADTEST_ADMIN_USERNAME"), "admin"));
+        this.adminPassword = required(options, "admin-password", "LOADTEST_ADMIN_PASSWORD");
+        this.jwtSecret = Base64.getDecoder().decode(required(options, "jwt-secret", "LOADTEST_JWT_SECRET"));
+        this.reportDir = Path.of(options.getOrDefault("report-dir", "build/reports/loadtest"));
+        this.weighted = weights("mixed".equals(scenario)
+                ? options.getOrDefault("mix", "signup:10,login:30,admin:30,invalid:15,expired:15")
+                : scenario + ":1");
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        LoadTest loadTest = new LoadTest(options);
+        loadTest.prepare();
+        loadTest.run(loadTest.warmup);
+        Map<Scenario, Stats> result = loadTest.run(loadTest.duration);
+        loadTest.report(result);
+        System.exit(0);
+    }
+
+    /**
+     * 서버와 같은 값을 써야 하는 옵션. 인자로 주지 않으면 서버의 loadtest 프로필이 읽는 환경 변수를 쓴다.
+     */
+    private static String required(Map<String, String> options, String option, String env) {
+        String value = options.getOrDefault(option, System.getenv(env));
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("--" + option + " 또는 환경 변수 " + env + " 가 필요합니다.");
+        }
+        return value;
+    }
+
+    /**
+     * 비중 문자열을 시나리오 배열로 펼친다. 워커는 이 배열에서 무작위로 하나를 고른다.
+     */
+    private static Scenario[] weights(String mix) {
+        List<Scenario> weighted = new ArrayList<>();
+        for (String part : mix.split(",")) {
+            String[] nameAndWeight = part.trim().split(":");
+            Scenario target = Scenario.valueOf(nameAndWeight[0].trim().toUpperCase());
+            int weight = nameAndWeight.length > 1 ? Integer.parseInt(nameAndWeight[1].trim()) : 1;
+            for (int i = 0; i < weight; i++) {
+                weighted.add(target);
+            }
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("시나리오 비중이 비어 있습니다: " + mix);
+        }
+        return weighted.toArray(Scenario[]::new);
+    }
+
+    private void prepare() throws Exception {
+        ExecutorService setup = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<String[]>> prepared = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                String username = runId + "_u" + i;
+                prepared.add(setup.submit(() -> {
+                    send(post("/signup", credentials(username)));
+                    String token = login(username, "loadtest-password");
+                    return new String[]{username, token};
+                }));
+            }
+            for (Future<String[]> user : prepared) {
+                String[] usernameAndToken = user.get();
+                usernames.add(usernameAndToken[0]);
+                tokens.add(usernameAndToken[1]);
+                userIds.add(userIdOf(usernameAndToken[1]));
+            }
+        } finally {
+            setup.shutdown();
+        }
+
+        if (uses(Scenario.ADMIN)) {
+            adminToken = login(adminUsername, adminPassword);
+        }
+        String validToken = tokens.get(0).substring("Bearer ".length());
+        invalidToken = "Bearer " + validToken.substring(0, validToken.length() - 4) + "AAAA";
+        expiredToken = "Bearer " + hs256("{\"sub\":\"" + userIds.get(0) + "\",\"userRole\":\"USER\",\"ver\":0,\"exp\":"
+                + (System.currentTimeMillis() / 1000 - 60) + "}");
+        System.out.printf("prepared %d users%n", users);
+    }
+
+    private Map<Scenario, Stats> run(Duration length) throws InterruptedException {
+        Map<Scenario, Stats> stats = new EnumMap<>(Scenario.class);
+        for (Scenario s : Scenario.values()) {
+            stats.put(s, new Stats());
+        }
+        long deadline = System.nanoTime() + length.toNanos();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+
+        long started = System.nanoTime();
+        for (int w = 0; w < concurrency; w++) {
+            workers.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    while (System.nanoTime() < deadline) {
+                        Scenario next = weighted[random.nextInt(weighted.length)];
+                        HttpRequest request = request(next, random.nextInt(users));
+                        Stats target = stats.get(next);
+                        long begin = System.nanoTime();
+                        int status;
+                        try {
+                            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        target.record(status, next.expectedStatus, System.nanoTime() - begin);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        long elapsed = System.nanoTime() - started;
+        workers.shutdown();
+        workers.awaitTermination(5, TimeUnit.SECONDS);
+
+        stats.values().forEach(s -> s.finish(elapsed));
+        stats.values().removeIf(s -> s.requests.sum() == 0);
+        return stats;
+    }
+
+    private HttpRequest request(Scenario next, int user) {
+        return switch (next) {
+            case SIGNUP -> post("/signup", credentials(runId + "_s" + signupSequence.incrementAndGet()));
+            case LOGIN -> post("/login", credentials(usernames.get(user)));
+            case ADMIN -> patchRole(userIds.get(user), adminToken);
+            case AUTHENTICATED -> patchRole(userIds.get(user), tokens.get(user));
+            case INVALID -> patchRole(userIds.get(user), invalidToken);
+            case EXPIRED -> patchRole(userIds.get(user), expiredToken);
+        };
+    }
+
+    private void report(Map<Scenario, Stats> result) throws IOException {
+        Files.createDirectories(reportDir);
+        long totalRequests = 0;
+        long totalErrors = 0;
+        System.out.printf("%nconcurrency=%d duration=%ds%n", concurrency, duration.toSeconds());
+        System.out.printf("%-14s %9s %10s %8s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "req/s", "errors", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+        for (Map.Entry<Scenario, Stats> entry : result.entrySet()) {
+            Stats s = entry.getValue();
+            Histogram h = s.histogram;
+            long requests = s.requests.sum();
+            totalRequests += requests;
+            totalErrors += s.errors.sum();
+            System.out.printf("%-14s %9d %10.1f %7.2f%% %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey().name().toLowerCase(), requests, requests / s.elapsedSeconds,
+                    100.0 * s.errors.sum() / requests,
+                    h.getValueAtPercentile(50) / 1000.0, h.getValueAtPercentile(90) / 1000.0,
+                    h.getValueAtPercentile(99) / 1000.0, h.getValueAtPercentile(99.9) / 1000.0,
+                    h.getMaxValue() / 1000.0);
+            System.out.printf("%-14s status=%s%n", "", s.statuses);
+
+            Path file = reportDir.resolve(runId + "-" + entry.getKey().name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(new FileOutputStream(file.toFile()), true, StandardCharsets.UTF_8)) {
+                // 마이크로초로 기록했으므로 1000 으로 나눠 ms 단위로 출력한다.
+                h.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        System.out.printf("total requests=%d errors=%d (%.2f%%)%n", totalRequests, totalErrors,
+                totalRequests == 0 ? 0 : 100.0 * totalErrors / totalRequests);
+        System.out.printf("histograms: %s%n", reportDir.toAbsolutePath());
+    }
+
+    private boolean uses(Scenario target) {
+        for (Scenario s : weighted) {
+            if (s == target) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String login(String username, String password) throws Exception {
+        String body = "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}";
+        HttpResponse<String> login = send(post("/login", body));
+        Matcher token = TOKEN.matcher(login.body());
+        if (login.statusCode() != 200 || !token.find()) {
+            throw new IllegalStateException("로그인 준비 실패(" + username + "): " + login.statusCode() + " " + login.body());
+        }
+        return token.group(1);
+    }
+
+    private HttpRequest patchRole(long userId, String bearer) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/admin/users/" + userId + "/roles"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", bearer)
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String credentials(String username) {
+        return "{\"username\":\"" + username + "\",\"password\":\"loadtest-password\",\"nickname\":\"" + username + "\"}";
+    }
+
+    private static long userIdOf(String bearer) {
+        String payload = bearer.split("\\.")[1];
+        String json = new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8);
+        Matcher subject = SUBJECT.matcher(json);
+        if (!subject.find()) {
+            throw new IllegalStateException("토큰에 사용자 ID 가 없습니다: " + json);
+        }
+        return Long.parseLong(subject.group(1));
+    }
+
+    private String hs256(String claims) throws Exception {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String unsigned = encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8))
+                + "." + encoder.encodeToString(claims.getBytes(StandardCharsets.UTF_8));
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(jwtSecret, "HmacSHA256"));
+        return unsigned + "." + encoder.encodeToString(mac.doFinal(unsigned.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 시나리오별 집계. Recorder 는 여러 워커가 동시에 기록해도 안전하다.
+     */
+    private static final class Stats {
+
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private Histogram histogram;
+        private double elapsedSeconds;
+
+        void record(int status, int expectedStatus, long nanos) {
+            recorder.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(nanos)));
+            requests.increment();
+            if (status != expectedStatus) {
+                errors.increment();
+            }
+            statuses.computeIfAbsent(status, k -> new LongAdder()).increment();
+        }
+
+        void finish(long elapsedNanos) {
+            this.histogram = recorder.getIntervalHistogram();
+            this.elapsedSeconds = elapsedNanos / 1e9;
+        }
+    }
+}
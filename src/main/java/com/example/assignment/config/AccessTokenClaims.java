@@ -0,0 +1,264 @@
+package com.example.assignment.config;
+
+import com.example.assignment.domain.user.enums.UserRole;
+import io.jsonwebtoken.JwtException;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 액세스 토큰 페이로드에 대한 읽기 전용 뷰.
+ * 디코딩한 JSON 바이트와 각 값의 위치만 들고 있고, 문자열은 요청할 때 만든다.
+ * 우리가 발급하는 평평한 클레임 집합(sub, username, userRole, ver, iat, exp)만 해석하며,
+ * 그 밖의 형태면 {@link #parse(byte[])} 가 null 을 반환해 호출자가 jjwt 로 처리하게 한다.
+ */
+public final class AccessTokenClaims {
+
+    private static final byte[] SUB = ascii("sub");
+    private static final byte[] USERNAME = ascii("username");
+    private static final byte[] USER_ROLE = ascii("userRole");
+    private static final byte[] VER = ascii("ver");
+    private static final byte[] IAT = ascii("iat");
+    private static final byte[] EXP = ascii("exp");
+
+    private static final UserRole[] ROLES = UserRole.values();
+    private static final byte[][] ROLE_NAMES = new byte[ROLES.length][];
+
+    static {
+        for (int i = 0; i < ROLES.length; i++) {
+            ROLE_NAMES[i] = ascii(ROLES[i].name());
+        }
+    }
+
+    private final byte[] json;
+    private final int subStart;
+    private final int subEnd;
+    private final int usernameStart;
+    private final int usernameEnd;
+    private final int roleStart;
+    private final int roleEnd;
+    private final int tokenVersion;
+    private final long expiresAtSeconds;
+
+    private AccessTokenClaims(byte[] json, int subStart, int subEnd, int usernameStart, int usernameEnd,
+                              int roleStart, int roleEnd, int tokenVersion, long expiresAtSeconds) {
+        this.json = json;
+        this.subStart = subStart;
+        this.subEnd = subEnd;
+        this.usernameStart = usernameStart;
+        this.usernameEnd = usernameEnd;
+        this.roleStart = roleStart;
+        this.roleEnd = roleEnd;
+        this.tokenVersion = tokenVersion;
+        this.expiresAtSeconds = expiresAtSeconds;
+    }
+
+    /**
+     * jjwt 로 검증한 클레임을 같은 뷰로 감싼다. 빠른 경로가 처리하지 못한 토큰에만 쓰인다.
+     */
+    public static AccessTokenClaims of(String subject, String username, String role, int tokenVersion,
+                                       long expiresAtSeconds) {
+        byte[] sub = bytes(subject);
+        byte[] name = bytes(username);
+        byte[] userRole = bytes(role);
+        byte[] json = new byte[sub.length + name.length + userRole.length];
+        System.arraycopy(sub, 0, json, 0, sub.length);
+        System.arraycopy(name, 0, json, sub.length, name.length);
+        System.arraycopy(userRole, 0, json, sub.length + name.length, userRole.length);
+        int nameStart = sub.length;
+        int roleStart = nameStart + name.length;
+        return new AccessTokenClaims(json, subject != null ? 0 : -1, sub.length,
+                username != null ? nameStart : -1, roleStart,
+                role != null ? roleStart : -1, json.length, tokenVersion, expiresAtSeconds);
+    }
+
+    /**
+     * 공백 없는 평평한 JSON 객체만 해석한다. 모르는 키, 중복 키, 이스케이프가 있는 문자열, sub/exp 누락이면 null.
+     */
+    static AccessTokenClaims parse(byte[] json) {
+        int length = json.length;
+        if (length < 2 || json[0] != '{' || json[length - 1] != '}') {
+            return null;
+        }
+        int subStart = -1, subEnd = -1, usernameStart = -1, usernameEnd = -1, roleStart = -1, roleEnd = -1;
+        long version = 0, expiresAt = -1;
+        boolean seenVer = false, seenIat = false;
+
+        int i = 1;
+        while (true) {
+            if (json[i] != '"') {
+                return null;
+            }
+            int keyStart = ++i;
+            while (i < length && json[i] != '"' && json[i] != '\\') {
+                i++;
+            }
+            if (i >= length - 1 || json[i] != '"' || json[i + 1] != ':') {
+                return null;
+            }
+            int keyEnd = i;
+            i += 2;
+
+            if (matches(json, keyStart, keyEnd, SUB) || matches(json, keyStart, keyEnd, USERNAME)
+                    || matches(json, keyStart, keyEnd, USER_ROLE)) {
+                if (i >= length || json[i] != '"') {
+                    return null;
+                }
+                int valueStart = ++i;
+                while (i < length && json[i] != '"' && json[i] != '\\') {
+                    i++;
+                }
+                if (i >= length || json[i] != '"') {
+                    return null;
+                }
+                int valueEnd = i++;
+                if (matches(json, keyStart, keyEnd, SUB)) {
+                    if (subStart >= 0) {
+                        return null;
+                    }
+                    subStart = valueStart;
+                    subEnd = valueEnd;
+                } else if (matches(json, keyStart, keyEnd, USERNAME)) {
+                    if (usernameStart >= 0) {
+                        return null;
+                    }
+                    usernameStart = valueStart;
+                    usernameEnd = valueEnd;
+                } else {
+                    if (roleStart >= 0) {
+                        return null;
+                    }
+                    roleStart = valueStart;
+                    roleEnd = valueEnd;
+                }
+            } else if (matches(json, keyStart, keyEnd, VER) || matches(json, keyStart, keyEnd, IAT)
+                    || matches(json, keyStart, keyEnd, EXP)) {
+                int digitsStart = i;
+                long value = 0;
+                while (i < length && json[i] >= '0' && json[i] <= '9' && i - digitsStart < 18) {
+                    value = value * 10 + (json[i] - '0');
+                    i++;
+                }
+                if (i == digitsStart || (i < length && json[i] >= '0' && json[i] <= '9')) {
+                    return null;
+                }
+                if (matches(json, keyStart, keyEnd, VER)) {
+                    if (seenVer || value > Integer.MAX_VALUE) {
+                        return null;
+                    }
+                    seenVer = true;
+                    version = value;
+                } else if (matches(json, keyStart, keyEnd, IAT)) {
+                    if (seenIat) {
+                        return null;
+                    }
+                    seenIat = true;
+                } else {
+                    if (expiresAt >= 0) {
+                        return null;
+                    }
+                    expiresAt = value;
+                }
+            } else {
+                return null;
+            }
+
+            if (i >= length) {
+                return null;
+            }
+            if (json[i] == '}') {
+                if (i != length - 1) {
+                    return null;
+                }
+                break;
+            }
+            if (json[i] != ',') {
+                return null;
+            }
+            i++;
+        }
+
+        if (subStart < 0 || expiresAt < 0 || !isDigits(json, subStart, subEnd)) {
+            return null;
+        }
+        return new AccessTokenClaims(json, subStart, subEnd, usernameStart, usernameEnd, roleStart, roleEnd,
+                (int) version, expiresAt);
+    }
+
+    public long userId() {
+        if (subStart < 0 || subEnd == subStart || subEnd - subStart > 18 || !isDigits(json, subStart, subEnd)) {
+            throw new JwtException("잘못된 토큰 주체입니다.");
+        }
+        long value = 0;
+        for (int i = subStart; i < subEnd; i++) {
+            value = value * 10 + (json[i] - '0');
+        }
+        return value;
+    }
+
+    public String subject() {
+        return string(subStart, subEnd);
+    }
+
+    public String username() {
+        return string(usernameStart, usernameEnd);
+    }
+
+    /**
+     * 역할 이름을 바이트로 비교하므로 문자열을 만들지 않는다. 알 수 없는 역할이면 null.
+     */
+    public UserRole role() {
+        if (roleStart < 0) {
+            return null;
+        }
+        for (int i = 0; i < ROLES.length; i++) {
+            if (matches(json, roleStart, roleEnd, ROLE_NAMES[i])) {
+                return ROLES[i];
+            }
+        }
+        return null;
+    }
+
+    public int tokenVersion() {
+        return tokenVersion;
+    }
+
+    public long expiresAtMillis() {
+        return expiresAtSeconds * 1000L;
+    }
+
+    private String string(int start, int end) {
+        return start < 0 ? null : new String(json, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private static boolean matches(byte[] json, int start, int end, byte[] expected) {
+        if (end - start != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (json[start + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigits(byte[] json, int start, int end) {
+        if (start == end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (json[i] < '0' || json[i] > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] bytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.assignment.config;
+
+import com.example.assignment.domain.audit.service.AuthAuditLog;
+import com.example.assignment.domain.user.service.JwtKeyRing;
+import com.example.assignment.domain.user.service.RefreshTokenService;
+import com.example.assignment.global.ratelimit.LoginThrottle;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration(proxyBeanMethods = false)
+@Profile("fast-startup")
+public class FastStartupConfig {
+
+    /**
+     * 지연 초기화에서 제외할 빈. 만들어지지 않으면 @Scheduled 작업(키 교체, 토큰 정리, 제한 키 정리)이나
+     * 감사 로그 쓰기 스레드가 시작되지 않는다.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerBackgroundBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                JwtKeyRing.class, RefreshTokenService.class, LoginThrottle.class, AuthAuditLog.class);
+    }
+}
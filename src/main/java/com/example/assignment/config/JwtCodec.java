@@ -0,0 +1,427 @@
+package com.example.assignment.config;
+
+import com.example.assignment.domain.user.service.JwtKeyRing;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+
+import javax.crypto.Mac;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 우리가 발급하는 고정 클레임 집합 전용 JWT 인코더/디코더.
+ * <ul>
+ *     <li>헤더 세그먼트는 미리 인코딩해 두고, 검증할 때도 JSON 을 해석하지 않고 문자열로 비교한다.</li>
+ *     <li>Mac/Signature 와 작업 버퍼는 풀에서 빌려 재사용한다.</li>
+ *     <li>페이로드는 {@link AccessTokenClaims} 뷰로만 읽는다.</li>
+ * </ul>
+ * 헤더나 페이로드가 예상한 형태가 아니면 {@link #decode(String)} 가 null 을 반환하고, 호출자는 jjwt 로 처리한다.
+ */
+public final class JwtCodec {
+
+    private static final String HS256_HEADER = segment("{\"alg\":\"HS256\"}");
+    private static final int HS256_SIGNATURE_BYTES = 32;
+    private static final int ES256_SIGNATURE_BYTES = 64;
+    private static final String EC_ALGORITHM = "SHA256withECDSAinP1363Format";
+
+    private static final byte[] ENCODE = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final int[] DECODE = new int[128];
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    static {
+        Arrays.fill(DECODE, -1);
+        for (int i = 0; i < ENCODE.length; i++) {
+            DECODE[ENCODE[i]] = i;
+        }
+    }
+
+    private final Key hmacKey;
+    private final JwtKeyRing keyRing;
+    private final boolean acceptHs256;
+    private final Map<String, String> es256Headers = new ConcurrentHashMap<>();
+
+    // 스레드 수와 무관하게(가상 스레드 포함) 재사용하도록 ThreadLocal 대신 작은 슬롯 배열을 쓴다.
+    private final AtomicReferenceArray<Scratch> pool = new AtomicReferenceArray<>(64);
+
+    public JwtCodec(Key hmacKey, JwtKeyRing keyRing, boolean acceptHs256) {
+        this.hmacKey = hmacKey;
+        this.keyRing = keyRing;
+        this.acceptHs256 = acceptHs256;
+    }
+
+    /**
+     * prefix 를 포함한 완성된 토큰 문자열을 만든다. 결과 문자열 외에는 할당하지 않는다.
+     */
+    public String encode(String prefix, long userId, String username, String role, int tokenVersion,
+                         long issuedAtSeconds, long expiresAtSeconds) {
+        Scratch scratch = borrow();
+        try {
+            JwtKeyRing.SigningKey signingKey = keyRing != null ? keyRing.active() : null;
+            String header = signingKey != null ? es256Header(signingKey.kid()) : HS256_HEADER;
+
+            // 1) 페이로드 JSON 을 별도 버퍼에 쓴다.
+            Buffer json = scratch.json.reset();
+            json.ascii("{\"sub\":\"").number(userId)
+                    .ascii("\",\"username\":\"").jsonString(username)
+                    .ascii("\",\"userRole\":\"").ascii(role)
+                    .ascii("\",\"ver\":").number(tokenVersion)
+                    .ascii(",\"iat\":").number(issuedAtSeconds)
+                    .ascii(",\"exp\":").number(expiresAtSeconds)
+                    .ascii("}");
+
+            // 2) prefix + header.payload 를 쓰고 그 구간에 서명한다.
+            Buffer out = scratch.out.reset();
+            out.ascii(prefix);
+            int signingStart = out.length;
+            out.ascii(header).ascii(".").base64(json.bytes, 0, json.length);
+            int signingEnd = out.length;
+
+            byte[] signature = scratch.signature;
+            int signatureLength;
+            if (signingKey != null) {
+                Signature signer = scratch.ecdsa();
+                signer.initSign(signingKey.privateKey());
+                signer.update(out.bytes, signingStart, signingEnd - signingStart);
+                signatureLength = signer.sign(signature, 0, ES256_SIGNATURE_BYTES);
+            } else {
+                Mac mac = scratch.mac(hmacKey);
+                mac.update(out.bytes, signingStart, signingEnd - signingStart);
+                mac.doFinal(signature, 0);
+                signatureLength = HS256_SIGNATURE_BYTES;
+            }
+            out.ascii(".").base64(signature, 0, signatureLength);
+            return new String(out.bytes, 0, out.length, StandardCharsets.ISO_8859_1);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("JWT 서명에 실패했습니다.", e);
+        } finally {
+            release(scratch);
+        }
+    }
+
+    /**
+     * 서명과 만료를 확인하고 페이로드 뷰를 반환한다.
+     * 처리할 수 없는 형태의 토큰이면 null 을 반환한다.
+     */
+    public AccessTokenClaims decode(String token) {
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (firstDot <= 0 || secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            throw new MalformedJwtException("잘못된 토큰 형식입니다.");
+        }
+
+        PublicKey publicKey = null;
+        if (HS256_HEADER.length() == firstDot && token.startsWith(HS256_HEADER)) {
+            if (keyRing != null && !acceptHs256) {
+                throw new JwtException("서명 키 ID 가 없는 토큰입니다.");
+            }
+        } else {
+            publicKey = es256Key(token, firstDot);
+            if (publicKey == null) {
+                return null;
+            }
+        }
+
+        Scratch scratch = borrow();
+        try {
+            Buffer in = scratch.out.reset().token(token);
+            int expectedLength = publicKey != null ? ES256_SIGNATURE_BYTES : HS256_SIGNATURE_BYTES;
+            byte[] signature = scratch.signature;
+            if (decodeBase64(in.bytes, secondDot + 1, in.length, signature) != expectedLength) {
+                throw new SignatureException("JWT 서명 길이가 올바르지 않습니다.");
+            }
+
+            boolean valid;
+            if (publicKey != null) {
+                Signature verifier = scratch.ecdsa();
+                verifier.initVerify(publicKey);
+                verifier.update(in.bytes, 0, secondDot);
+                valid = verifier.verify(signature, 0, ES256_SIGNATURE_BYTES);
+            } else {
+                Mac mac = scratch.mac(hmacKey);
+                mac.update(in.bytes, 0, secondDot);
+                byte[] expected = scratch.expected;
+                mac.doFinal(expected, 0);
+                valid = constantTimeEquals(expected, signature, HS256_SIGNATURE_BYTES);
+            }
+            if (!valid) {
+                throw new SignatureException("JWT 서명이 일치하지 않습니다.");
+            }
+
+            byte[] payload = new byte[(secondDot - firstDot - 1) * 3 / 4];
+            int payloadLength = decodeBase64(in.bytes, firstDot + 1, secondDot, payload);
+            AccessTokenClaims claims = payloadLength == payload.length ? AccessTokenClaims.parse(payload) : null;
+            if (claims == null) {
+                return null;
+            }
+            if (claims.expiresAtMillis() < System.currentTimeMillis()) {
+                throw new ExpiredJwtException(null, null, "만료된 JWT 토큰입니다.");
+            }
+            return claims;
+        } catch (GeneralSecurityException e) {
+            throw new SignatureException("JWT 서명을 검증할 수 없습니다.", e);
+        } finally {
+            release(scratch);
+        }
+    }
+
+    private PublicKey es256Key(String token, int headerLength) {
+        if (keyRing == null) {
+            return null;
+        }
+        List<JwtKeyRing.SigningKey> keys = keyRing.keys();
+        for (int i = keys.size() - 1; i >= 0; i--) {
+            String header = es256Header(keys.get(i).kid());
+            if (header.length() == headerLength && token.startsWith(header)) {
+                return keys.get(i).publicKey();
+            }
+        }
+        return null;
+    }
+
+    // jjwt 와 같은 필드 순서로 만든다.
+    private String es256Header(String kid) {
+        return es256Headers.computeIfAbsent(kid, k -> segment("{\"kid\":\"" + k + "\",\"alg\":\"ES256\"}"));
+    }
+
+    private static String segment(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 패딩 없는 base64url 을 디코딩한다. 잘못된 문자나 길이면 MalformedJwtException.
+     */
+    private static int decodeBase64(byte[] src, int from, int to, byte[] dst) {
+        int length = to - from;
+        if (length % 4 == 1) {
+            throw new MalformedJwtException("잘못된 base64url 길이입니다.");
+        }
+        int decodedLength = length / 4 * 3 + (length % 4 == 0 ? 0 : length % 4 - 1);
+        if (decodedLength > dst.length) {
+            return -1;
+        }
+        int out = 0;
+        int bits = 0;
+        int bitCount = 0;
+        for (int i = from; i < to; i++) {
+            int c = src[i];
+            int value = c >= 0 && c < 128 ? DECODE[c] : -1;
+            if (value < 0) {
+                throw new MalformedJwtException("잘못된 base64url 문자입니다.");
+            }
+            bits = (bits << 6) | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                dst[out++] = (byte) (bits >> bitCount);
+            }
+        }
+        return out;
+    }
+
+    private static boolean constantTimeEquals(byte[] a, byte[] b, int length) {
+        int diff = 0;
+        for (int i = 0; i < length; i++) {
+            diff |= a[i] ^ b[i];
+        }
+        return diff == 0;
+    }
+
+    private Scratch borrow() {
+        int start = Thread.currentThread().hashCode();
+        int mask = pool.length() - 1;
+        for (int i = 0; i < 4; i++) {
+            Scratch scratch = pool.getAndSet((start + i) & mask, null);
+            if (scratch != null) {
+                return scratch;
+            }
+        }
+        return new Scratch();
+    }
+
+    private void release(Scratch scratch) {
+        int start = Thread.currentThread().hashCode();
+        int mask = pool.length() - 1;
+        for (int i = 0; i < 4; i++) {
+            if (pool.compareAndSet((start + i) & mask, null, scratch)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 한 번의 인코딩/디코딩에 필요한 재사용 객체들.
+     */
+    private static final class Scratch {
+
+        private final Buffer json = new Buffer(256);
+        private final Buffer out = new Buffer(512);
+        private final byte[] signature = new byte[ES256_SIGNATURE_BYTES];
+        private final byte[] expected = new byte[HS256_SIGNATURE_BYTES];
+        private Mac mac;
+        private Signature ecdsa;
+
+        Mac mac(Key key) throws GeneralSecurityException {
+            if (mac == null) {
+                mac = Mac.getInstance("HmacSHA256");
+                mac.init(key);
+            }
+            return mac;
+        }
+
+        Signature ecdsa() throws GeneralSecurityException {
+            if (ecdsa == null) {
+                ecdsa = Signature.getInstance(EC_ALGORITHM);
+            }
+            return ecdsa;
+        }
+    }
+
+    /**
+     * ASCII/UTF-8 바이트를 이어 쓰는 가변 버퍼.
+     */
+    private static final class Buffer {
+
+        private byte[] bytes;
+        private int length;
+
+        Buffer(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        Buffer reset() {
+            length = 0;
+            return this;
+        }
+
+        Buffer ascii(String value) {
+            return ascii(value, 0, value.length());
+        }
+
+        Buffer ascii(String value, int from, int to) {
+            ensure(to - from);
+            for (int i = from; i < to; i++) {
+                bytes[length++] = (byte) value.charAt(i);
+            }
+            return this;
+        }
+
+        /**
+         * 검증할 토큰을 복사한다. ASCII 가 아닌 문자가 다른 바이트로 뭉개지지 않도록 거부한다.
+         */
+        Buffer token(String token) {
+            int size = token.length();
+            ensure(size);
+            for (int i = 0; i < size; i++) {
+                char c = token.charAt(i);
+                if (c >= 0x80) {
+                    throw new MalformedJwtException("잘못된 토큰 문자입니다.");
+                }
+                bytes[length++] = (byte) c;
+            }
+            return this;
+        }
+
+        Buffer number(long value) {
+            if (value < 0) {
+                ensure(1);
+                bytes[length++] = '-';
+                value = -value;
+            }
+            int digits = 1;
+            for (long v = value; v >= 10; v /= 10) {
+                digits++;
+            }
+            ensure(digits);
+            for (int i = length + digits - 1; i >= length; i--) {
+                bytes[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            length += digits;
+            return this;
+        }
+
+        /**
+         * JSON 문자열 내용으로 쓴다. 따옴표, 역슬래시, 제어 문자는 이스케이프한다.
+         */
+        Buffer jsonString(String value) {
+            int size = value.length();
+            ensure(size * 6);
+            for (int i = 0; i < size; i++) {
+                char c = value.charAt(i);
+                if (c >= 0x80) {
+                    // 드문 경우이므로 남은 부분만 UTF-8 로 변환해 이어 쓴다.
+                    return utf8(value.substring(i));
+                }
+                escaped((byte) c);
+            }
+            return this;
+        }
+
+        private Buffer utf8(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            ensure(utf8.length * 6);
+            for (byte b : utf8) {
+                escaped(b);
+            }
+            return this;
+        }
+
+        private void escaped(byte b) {
+            if (b == '"' || b == '\\') {
+                bytes[length++] = '\\';
+                bytes[length++] = b;
+            } else if (b >= 0 && b < 0x20) {
+                bytes[length++] = '\\';
+                bytes[length++] = 'u';
+                bytes[length++] = '0';
+                bytes[length++] = '0';
+                bytes[length++] = HEX[b >> 4];
+                bytes[length++] = HEX[b & 0xF];
+            } else {
+                bytes[length++] = b;
+            }
+        }
+
+        Buffer base64(byte[] src, int from, int to) {
+            ensure((to - from + 2) / 3 * 4);
+            int i = from;
+            for (; i + 3 <= to; i += 3) {
+                int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF);
+                bytes[length++] = ENCODE[bits >>> 18 & 0x3F];
+                bytes[length++] = ENCODE[bits >>> 12 & 0x3F];
+                bytes[length++] = ENCODE[bits >>> 6 & 0x3F];
+                bytes[length++] = ENCODE[bits & 0x3F];
+            }
+            int remaining = to - i;
+            if (remaining == 1) {
+                int bits = (src[i] & 0xFF) << 16;
+                bytes[length++] = ENCODE[bits >>> 18 & 0x3F];
+                bytes[length++] = ENCODE[bits >>> 12 & 0x3F];
+            } else if (remaining == 2) {
+                int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8;
+                bytes[length++] = ENCODE[bits >>> 18 & 0x3F];
+                bytes[length++] = ENCODE[bits >>> 12 & 0x3F];
+                bytes[length++] = ENCODE[bits >>> 6 & 0x3F];
+            }
+            return this;
+        }
+
+        private void ensure(int additional) {
+            if (length + additional > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + additional));
+            }
+        }
+    }
+}
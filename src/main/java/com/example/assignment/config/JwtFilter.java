@@ -1,63 +1,160 @@
 package com.example.assignment.config;
 
-import io.jsonwebtoken.Claims;
+import com.example.assignment.domain.audit.enums.AuditEventType;
+import com.example.assignment.domain.audit.service.AuthAuditLog;
+import com.example.assignment.domain.user.enums.UserRole;
+import com.example.assignment.domain.user.service.TokenVersionStore;
+import com.example.assignment.global.exception.ErrorCode;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
-import jakarta.servlet.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
-public class JwtFilter implements Filter {
+public class JwtFilter extends OncePerRequestFilter {
+
+    // 역할마다 권한 목록을 한 번만 만들어 요청 간에 공유한다.
+    private static final Map<String, List<GrantedAuthority>> AUTHORITIES = Arrays.stream(UserRole.values())
+            .collect(Collectors.toUnmodifiableMap(Enum::name,
+                    role -> List.<GrantedAuthority>of(new SimpleGrantedAuthority(role.name()))));
 
     private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenVersionStore tokenVersionStore;
+    private final AuthAuditLog authAuditLog;
 
-    @Override
-    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
-            throws IOException, ServletException {
-        HttpServletRequest httpRequest = (HttpServletRequest) request;
-        HttpServletResponse httpResponse = (HttpServletResponse) response;
-        String url = httpRequest.getRequestURI();
+    // 결과별 타이머를 미리 만들어 요청마다 태그를 조합하지 않는다. 다음 필터 실행 시간은 포함하지 않는다.
+    private final Timer missingTimer;
+    private final Timer invalidTimer;
+    private final Timer expiredTimer;
+    private final Timer revokedTimer;
+    private final Timer okTimer;
 
-        if (url.startsWith("/signup") || url.startsWith("/login") || url.startsWith("/swagger") || url.startsWith("/v3/api-docs") || url.startsWith("/swagger-ui") || url.startsWith("/favicon.ico")) {
-            chain.doFilter(request, response);
-            return;
-        }
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
+    public JwtFilter(JwtUtil jwtUtil, VerifiedTokenCache tokenCache, TokenVersionStore tokenVersionStore,
+                     AuthAuditLog authAuditLog, MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.tokenCache = tokenCache;
+        this.tokenVersionStore = tokenVersionStore;
+        this.authAuditLog = authAuditLog;
+        this.missingTimer = timer(meterRegistry, "missing");
+        this.invalidTimer = timer(meterRegistry, "invalid");
+        this.expiredTimer = timer(meterRegistry, "expired");
+        this.revokedTimer = timer(meterRegistry, "revoked");
+        this.okTimer = timer(meterRegistry, "ok");
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("auth.filter")
+                .description("JwtFilter 인증 처리 시간")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return PublicPaths.matches(request.getRequestURI()) || PublicPaths.isInternalMetrics(request, managementPort);
+    }
 
+    @Override
+    protected void doFilterInternal(HttpServletRequest httpRequest, HttpServletResponse httpResponse, FilterChain chain)
+            throws IOException, ServletException {
+        long started = System.nanoTime();
         String bearer = httpRequest.getHeader("Authorization");
         if (bearer == null || !bearer.startsWith("Bearer ")) {
-            httpResponse.sendError(HttpServletResponse.SC_BAD_REQUEST, "JWT 토큰이 필요합니다.");
+            record(missingTimer, started);
+            ErrorCode.MISSING_TOKEN.writeTo(httpResponse);
             return;
         }
 
         String token = jwtUtil.substringToken(bearer);
 
+        VerifiedTokenCache.Entry verified;
         try {
-            Claims claims = jwtUtil.extractClaims(token);
+            verified = verify(token);
+        } catch (ExpiredJwtException e) {
+            reject(httpResponse, expiredTimer, started, null, "EXPIRED");
+            return;
+        } catch (JwtException e) {
+            reject(httpResponse, invalidTimer, started, null, "INVALID");
+            return;
+        }
+        if (!tokenVersionStore.isCurrent(verified.userId(), verified.tokenVersion())) {
+            reject(httpResponse, revokedTimer, started, verified.userId(), "REVOKED");
+            return;
+        }
 
-            String userId = claims.getSubject();
-            String userRole = claims.get("userRole", String.class);
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                verified.principal(),
+                null,
+                AUTHORITIES.get(verified.authority())
+        );
 
-            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                    userId,
-                    null,
-                    Collections.singletonList(new SimpleGrantedAuthority(userRole))
-            );
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        record(okTimer, started);
+        chain.doFilter(httpRequest, httpResponse);
+    }
 
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-            chain.doFilter(request, response);
-        } catch (JwtException e) {
-            httpResponse.sendError(HttpServletResponse.SC_UNAUTHORIZED, "유효하지 않은 JWT 토큰입니다.");
+    private void reject(HttpServletResponse httpResponse, Timer outcome, long started, Long userId, String reason)
+            throws IOException {
+        record(outcome, started);
+        authAuditLog.record(AuditEventType.TOKEN_REJECTED, userId, null, reason);
+        ErrorCode.INVALID_TOKEN.writeTo(httpResponse);
+    }
+
+    private static void record(Timer outcome, long started) {
+        outcome.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    private VerifiedTokenCache.Entry verify(String token) {
+        if (!tokenCache.isEnabled()) {
+            return toEntry(jwtUtil.verifyToken(token));
+        }
+
+        String cacheKey = tokenCache.keyOf(token);
+        VerifiedTokenCache.Entry cached = tokenCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        VerifiedTokenCache.Entry verified = toEntry(jwtUtil.verifyToken(token));
+        tokenCache.put(cacheKey, verified);
+        return verified;
+    }
+
+    private VerifiedTokenCache.Entry toEntry(AccessTokenClaims claims) {
+        UserRole role = claims.role();
+        if (role == null) {
+            throw new JwtException("잘못된 토큰 권한입니다.");
         }
+        return new VerifiedTokenCache.Entry(
+                claims.userId(),
+                claims.subject(),
+                role.name(),
+                claims.tokenVersion(),
+                claims.expiresAtMillis()
+        );
     }
-}
\ No newline at end of file
+}
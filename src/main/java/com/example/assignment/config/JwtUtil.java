@@ -1,47 +1,91 @@
 package com.example.assignment.config;
 
 import com.example.assignment.domain.user.enums.UserRole;
+import com.example.assignment.domain.user.service.JwtKeyRing;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
 public class JwtUtil {
 
     private static final String BEARER_PREFIX = "Bearer ";
-    private static final long TOKEN_EXPIRATION = 2 * 60 * 60 * 1000L; // 2시간
 
     @Value("${jwt.secret.key}")
     private String secretKey;
+
+    @Value("${jwt.access-token-expiration:15m}")
+    private Duration accessTokenExpiration = Duration.ofMinutes(15);
+
+    // 스프링 밖에서 직접 생성한 경우(테스트, 벤치마크)에는 전역 레지스트리에 기록한다.
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    // jwt.signing.algorithm=ES256 일 때만 존재한다. 없으면 jwt.secret.key 로 HS256 서명한다.
+    @Autowired(required = false)
+    private JwtKeyRing keyRing;
+
+    // ES256 전환 중 이미 발급된 HS256(kid 없음) 토큰을 계속 받을지 여부
+    @Value("${jwt.signing.accept-hs256:true}")
+    private boolean acceptHs256 = true;
+
     private Key key;
+    private JwtParser parser;
+    private JwtCodec codec;
+    private Timer createTimer;
+    private Timer verifyTimer;
 
     @PostConstruct
     public void init() {
         byte[] bytes = Base64.getDecoder().decode(secretKey);
         this.key = Keys.hmacShaKeyFor(bytes);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+        this.codec = new JwtCodec(key, keyRing, acceptHs256);
+        this.createTimer = Timer.builder("auth.jwt.create")
+                .description("JWT 발급 시간")
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("auth.jwt.verify")
+                .description("JWT 서명 검증 및 파싱 시간")
+                .register(meterRegistry);
     }
 
     public String createToken(Long userId, String username, Enum<UserRole> role) {
-        Date now = new Date();
-        return BEARER_PREFIX + Jwts.builder()
-                .setSubject(String.valueOf(userId))
-                .claim("username", username)
-                .claim("userRole", role.name())
-                .setIssuedAt(now)
-                .setExpiration(new Date(now.getTime() + TOKEN_EXPIRATION))
-                .signWith(key, SignatureAlgorithm.HS256)
-                .compact();
+        return createToken(userId, username, role, 0);
+    }
+
+    public String createToken(Long userId, String username, Enum<UserRole> role, int tokenVersion) {
+        long started = System.nanoTime();
+        long issuedAt = System.currentTimeMillis() / 1000;
+        String token = codec.encode(BEARER_PREFIX, userId, username, role.name(), tokenVersion,
+                issuedAt, issuedAt + accessTokenExpiration.toSeconds());
+        createTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return token;
     }
 
     public String substringToken(String bearerToken) {
@@ -51,11 +95,52 @@ public class JwtUtil {
         throw new JwtException("잘못된 토큰 형식입니다.");
     }
 
+    /**
+     * kid 가 있으면 키 링의 공개 키로, 없으면 HS256 비밀 키로 검증한다.
+     * 헤더의 alg 와 키 종류가 맞지 않으면 jjwt 가 거부하므로 알고리즘 혼동 공격은 통하지 않는다.
+     */
+    private Key verificationKey(String kid) {
+        if (kid == null) {
+            if (keyRing != null && !acceptHs256) {
+                throw new JwtException("서명 키 ID 가 없는 토큰입니다.");
+            }
+            return key;
+        }
+        Key publicKey = keyRing != null ? keyRing.publicKey(kid) : null;
+        if (publicKey == null) {
+            throw new JwtException("알 수 없는 서명 키입니다.");
+        }
+        return publicKey;
+    }
+
+    /**
+     * 요청 인증용 검증. 우리가 발급한 형태의 토큰은 {@link JwtCodec} 로 처리하고,
+     * 그 밖의 형태(다른 헤더 필드, 추가 클레임 등)는 jjwt 로 검증한 뒤 같은 뷰로 감싼다.
+     */
+    public AccessTokenClaims verifyToken(String token) {
+        long started = System.nanoTime();
+        try {
+            AccessTokenClaims claims = codec.decode(token);
+            if (claims != null) {
+                return claims;
+            }
+            Claims parsed = parser.parseClaimsJws(token).getBody();
+            Integer tokenVersion = parsed.get("ver", Integer.class);
+            Date expiration = parsed.getExpiration();
+            return AccessTokenClaims.of(parsed.getSubject(), parsed.get("username", String.class),
+                    parsed.get("userRole", String.class), tokenVersion != null ? tokenVersion : 0,
+                    expiration != null ? expiration.getTime() / 1000 : 0L);
+        } finally {
+            verifyTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
     public Claims extractClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        long started = System.nanoTime();
+        try {
+            return parser.parseClaimsJws(token).getBody();
+        } finally {
+            verifyTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
     }
 }
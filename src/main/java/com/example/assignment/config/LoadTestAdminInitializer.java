@@ -0,0 +1,47 @@
+package com.example.assignment.config;
+
+import com.example.assignment.domain.user.entity.User;
+import com.example.assignment.domain.user.enums.UserRole;
+import com.example.assignment.domain.user.repository.UserRepository;
+import com.example.assignment.global.password.PasswordHasher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * loadtest 프로필에서 관리자 API 부하 시나리오에 사용할 관리자 계정을 만든다.
+ * ApplicationReadyEvent 전에 실행되므로 username 필터 워밍업에도 포함된다.
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+@RequiredArgsConstructor
+public class LoadTestAdminInitializer implements ApplicationRunner {
+
+    private final UserRepository userRepository;
+    private final PasswordHasher passwordHasher;
+
+    @Value("${loadtest.admin.username:admin}")
+    private String username;
+
+    @Value("${loadtest.admin.password}")
+    private String password;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (userRepository.existsByUsernameKey(User.usernameKeyOf(username))) {
+            return;
+        }
+        userRepository.save(User.builder()
+                .username(username)
+                .password(passwordHasher.hash(password.toCharArray()))
+                .nickname(username)
+                .role(UserRole.ADMIN)
+                .build());
+        log.info("loadtest admin created: {}", username);
+    }
+}
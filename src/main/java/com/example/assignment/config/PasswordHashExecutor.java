@@ -0,0 +1,180 @@
+package com.example.assignment.config;
+
+import com.example.assignment.global.exception.ServerBusyException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * BCrypt 해시/검증 전용 스레드 풀.
+ * 큐가 가득 차면 대기하지 않고 즉시 {@link ServerBusyException} 을 던진다.
+ * 작업 수, 큐 대기/실행 시간, 큐 깊이를 auth.password.executor.* 지표로 내보낸다.
+ */
+@Slf4j
+@Component
+public class PasswordHashExecutor implements MeterBinder {
+
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+    private final int batchParallelism;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder queueTimeNanos = new LongAdder();
+    private final LongAdder executionTimeNanos = new LongAdder();
+
+    public PasswordHashExecutor(@Value("${password-hash.executor.pool-size:0}") int poolSize,
+                                @Value("${password-hash.executor.queue-capacity:200}") int queueCapacity,
+                                @Value("${password-hash.executor.retry-after-seconds:1}") long retryAfterSeconds,
+                                @Value("${password-hash.executor.batch-parallelism:0}") int batchParallelism) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfterSeconds = retryAfterSeconds;
+        // 일괄 작업이 풀을 모두 차지해 로그인/가입이 밀리지 않도록 나머지 스레드를 남겨 둔다.
+        this.batchParallelism = Math.min(threads, batchParallelism > 0 ? batchParallelism : Math.max(1, threads / 2));
+        log.info("password hash executor: threads={}, queueCapacity={}, batchParallelism={}",
+                threads, queueCapacity, this.batchParallelism);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        counter(meterRegistry, submitted, "submitted");
+        counter(meterRegistry, rejected, "rejected");
+        counter(meterRegistry, completed, "completed");
+        FunctionTimer.builder("auth.password.executor.queue", this,
+                        PasswordHashExecutor::getCompletedCount, PasswordHashExecutor::getTotalQueueTimeNanos, TimeUnit.NANOSECONDS)
+                .description("해시 작업이 큐에서 기다린 시간")
+                .register(meterRegistry);
+        FunctionTimer.builder("auth.password.executor.execution", this,
+                        PasswordHashExecutor::getCompletedCount, PasswordHashExecutor::getTotalExecutionTimeNanos, TimeUnit.NANOSECONDS)
+                .description("해시 작업 실행 시간")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.executor.active", this, PasswordHashExecutor::getActiveCount)
+                .description("해시 작업을 실행 중인 스레드 수")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.executor.queue.depth", this, PasswordHashExecutor::getQueueDepth)
+                .description("큐에서 기다리는 해시 작업 수")
+                .register(meterRegistry);
+    }
+
+    private static void counter(MeterRegistry meterRegistry, LongAdder adder, String result) {
+        FunctionCounter.builder("auth.password.executor.tasks", adder, LongAdder::sum)
+                .description("해시 풀에 넣은(또는 거절한) 작업 수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                queueTimeNanos.add(startedAt - enqueuedAt);
+                try {
+                    return task.get();
+                } finally {
+                    executionTimeNanos.add(System.nanoTime() - startedAt);
+                    completed.increment();
+                }
+            }, executor);
+            submitted.increment();
+            return future;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServerBusyException(retryAfterSeconds);
+        }
+    }
+
+    /**
+     * 목록을 batch-parallelism 개로 나눠 병렬로 변환한다. 큐에는 조각 수만큼만 작업이 들어가므로
+     * 목록이 아무리 커도 동시에 차지하는 스레드는 batch-parallelism 개를 넘지 않는다.
+     */
+    public <T, R> List<R> mapInParallel(List<T> items, Function<T, R> mapper) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+
+        int slices = Math.min(batchParallelism, items.size());
+        int sliceSize = (items.size() + slices - 1) / slices;
+        List<CompletableFuture<List<R>>> futures = new ArrayList<>(slices);
+        for (int from = 0; from < items.size(); from += sliceSize) {
+            List<T> slice = items.subList(from, Math.min(from + sliceSize, items.size()));
+            futures.add(submit(() -> slice.stream().map(mapper).toList()));
+        }
+
+        List<R> results = new ArrayList<>(items.size());
+        for (CompletableFuture<List<R>> future : futures) {
+            results.addAll(future.join());
+        }
+        return results;
+    }
+
+    public int getPoolSize() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public int getBatchParallelism() {
+        return batchParallelism;
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getTotalQueueTimeNanos() {
+        return queueTimeNanos.sum();
+    }
+
+    public long getTotalExecutionTimeNanos() {
+        return executionTimeNanos.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
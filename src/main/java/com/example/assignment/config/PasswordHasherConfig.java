@@ -0,0 +1,75 @@
+package com.example.assignment.config;
+
+import com.example.assignment.global.password.Argon2idPasswordHasher;
+import com.example.assignment.global.password.BCryptPasswordHasher;
+import com.example.assignment.global.password.DelegatingPasswordHasher;
+import com.example.assignment.global.password.MeteredPasswordHasher;
+import com.example.assignment.global.password.PasswordHasher;
+import com.example.assignment.global.password.PasswordHasherCalibrator;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Slf4j
+@Configuration
+public class PasswordHasherConfig {
+
+    @Value("${password.hasher.algorithm:bcrypt}")
+    private String algorithm;
+
+    @Value("${password.hasher.calibrate:true}")
+    private boolean calibrate;
+
+    @Value("${password.hasher.target-latency:250ms}")
+    private Duration targetLatency;
+
+    @Value("${password.hasher.bcrypt.cost:12}")
+    private int bcryptCost;
+
+    @Value("${password.hasher.bcrypt.min-cost:10}")
+    private int bcryptMinCost;
+
+    @Value("${password.hasher.bcrypt.max-cost:14}")
+    private int bcryptMaxCost;
+
+    @Value("${password.hasher.argon2.memory-kib:19456}")
+    private int argon2MemoryKib;
+
+    @Value("${password.hasher.argon2.max-memory-kib:131072}")
+    private int argon2MaxMemoryKib;
+
+    @Value("${password.hasher.argon2.iterations:2}")
+    private int argon2Iterations;
+
+    @Value("${password.hasher.argon2.parallelism:1}")
+    private int argon2Parallelism;
+
+    @Bean
+    public PasswordHasher passwordHasher(MeterRegistry meterRegistry) {
+        BCryptPasswordHasher bcrypt = "bcrypt".equalsIgnoreCase(algorithm) && calibrate
+                ? PasswordHasherCalibrator.calibrateBCrypt(targetLatency, bcryptMinCost, bcryptMaxCost)
+                : new BCryptPasswordHasher(bcryptCost);
+        Argon2idPasswordHasher argon2 = "argon2id".equalsIgnoreCase(algorithm) && calibrate
+                ? PasswordHasherCalibrator.calibrateArgon2id(targetLatency, argon2MemoryKib, argon2MaxMemoryKib,
+                        argon2Iterations, argon2Parallelism)
+                : new Argon2idPasswordHasher(argon2MemoryKib, argon2Iterations, argon2Parallelism);
+
+        PasswordHasher primary = switch (algorithm.toLowerCase()) {
+            case "bcrypt" -> bcrypt;
+            case "argon2id" -> argon2;
+            default -> throw new IllegalStateException("지원하지 않는 password.hasher.algorithm: " + algorithm);
+        };
+        if (primary == bcrypt) {
+            log.info("password hasher: bcrypt cost={}", bcrypt.getCost());
+        } else {
+            log.info("password hasher: argon2id m={}KiB,t={},p={}",
+                    argon2.getMemoryKib(), argon2.getIterations(), argon2.getParallelism());
+        }
+        return new MeteredPasswordHasher(new DelegatingPasswordHasher(primary, List.of(bcrypt, argon2)), meterRegistry);
+    }
+}
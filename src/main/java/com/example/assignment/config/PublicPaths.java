@@ -0,0 +1,69 @@
+package com.example.assignment.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 인증 없이 접근 가능한 경로. SecurityConfig 의 permitAll 과 JwtFilter 가 함께 사용한다.
+ * {@code /**} 로 끝나는 패턴은 접두사로, 나머지는 정확히 일치하는 경로로 미리 컴파일해 둔다.
+ */
+public final class PublicPaths {
+
+    public static final String[] PATTERNS = {
+            "/",
+            "/signup",
+            "/login",
+            "/token/refresh",
+            "/v3/api-docs/**",
+            "/swagger-ui/**",
+            "/swagger-ui.html",
+            "/docs/**",
+            "/favicon.ico",
+            "/.well-known/jwks.json",
+            "/actuator/health"
+    };
+
+    // 지표 수집 경로. 애플리케이션 포트에서는 ADMIN 토큰이 필요하고,
+    // management.server.port(내부 인터페이스)로 들어온 요청만 인증 없이 허용한다.
+    public static final String METRICS = "/actuator/prometheus";
+
+    private static final Set<String> EXACT = new HashSet<>();
+    private static final String[] PREFIXES;
+
+    static {
+        List<String> prefixes = new ArrayList<>();
+        for (String pattern : PATTERNS) {
+            if (pattern.endsWith("/**")) {
+                String base = pattern.substring(0, pattern.length() - 3);
+                EXACT.add(base);
+                prefixes.add(base + "/");
+            } else {
+                EXACT.add(pattern);
+            }
+        }
+        PREFIXES = prefixes.toArray(String[]::new);
+    }
+
+    private PublicPaths() {
+    }
+
+    public static boolean isInternalMetrics(HttpServletRequest request, int managementPort) {
+        return managementPort > 0 && request.getLocalPort() == managementPort && METRICS.equals(request.getRequestURI());
+    }
+
+    public static boolean matches(String uri) {
+        if (EXACT.contains(uri)) {
+            return true;
+        }
+        for (String prefix : PREFIXES) {
+            if (uri.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
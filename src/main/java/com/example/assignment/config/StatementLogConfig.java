@@ -0,0 +1,36 @@
+package com.example.assignment.config;
+
+import com.example.assignment.global.datasource.StatementLog;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * db.statement-log.enabled 이면 애플리케이션이 쓰는 dataSource 빈을 datasource-proxy 로 감싸
+ * 문장마다 {@link StatementLog} 를 거치게 한다. 읽기/쓰기 분리나 샤딩을 켜면 라우팅 데이터소스를 감싸므로 모든 풀이 포함된다.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "db.statement-log.enabled", havingValue = "true")
+public class StatementLogConfig {
+
+    @Bean
+    static BeanPostProcessor statementLogDataSource(ObjectProvider<StatementLog> statementLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(statementLog.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.assignment.config;
+
+import com.example.assignment.domain.user.repository.UserRepository;
+import com.example.assignment.domain.user.repository.UserShardRouter;
+import com.example.assignment.domain.user.repository.UserShards;
+import com.example.assignment.global.datasource.ShardContext;
+import com.example.assignment.global.datasource.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.relational.SchemaManager;
+import org.hibernate.tool.schema.spi.SchemaManagementException;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * user.sharding.enabled 이면 spring.datasource 를 기본 샤드(0), user.sharding.shards 를 1번부터의 샤드로 만들어
+ * {@link ShardRoutingDataSource} 로 묶고, UserRepository 에 {@link UserShardRouter} 를 붙인다.
+ * 꺼져 있으면 샤드 하나로 동작하며 데이터소스는 기본 자동 구성을 그대로 쓴다.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+public class UserShardingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "user.sharding.enabled", havingValue = "false", matchIfMissing = true)
+    public UserShards userShards() {
+        return UserShards.single();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "user.sharding.enabled", havingValue = "true")
+    static class Sharded {
+
+        @Bean
+        @ConfigurationProperties("spring.datasource.hikari")
+        public HikariDataSource homeShardDataSource(DataSourceProperties properties) {
+            return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        }
+
+        @Bean
+        public ShardPools userShardPools(Environment environment) {
+            List<HikariConfig> configs = Binder.get(environment)
+                    .bind("user.sharding.shards", Bindable.listOf(HikariConfig.class))
+                    .orElse(List.of());
+            List<HikariDataSource> pools = new ArrayList<>(configs.size());
+            for (int i = 0; i < configs.size(); i++) {
+                HikariConfig config = configs.get(i);
+                if (config.getPoolName() == null) {
+                    config.setPoolName("user-shard-" + (i + 1));
+                }
+                pools.add(new HikariDataSource(config));
+            }
+            return new ShardPools(pools);
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(@Qualifier("homeShardDataSource") DataSource home, ShardPools pools) {
+            List<DataSource> shards = new ArrayList<>(pools.pools().size() + 1);
+            shards.add(home);
+            shards.addAll(pools.pools());
+            return ShardRoutingDataSource.create(shards);
+        }
+
+        @Bean
+        public UserShards userShards(ShardPools pools) {
+            log.info("user sharding: shards={}", pools.pools().size() + 1);
+            return new UserShards(pools.pools().size() + 1);
+        }
+
+        @Bean
+        public UserShardRouter userShardRouter(UserShards userShards, PlatformTransactionManager transactionManager) {
+            return new UserShardRouter(userShards, transactionManager);
+        }
+
+        @Bean
+        static BeanPostProcessor userRepositoryShardRouting(ObjectProvider<UserShardRouter> router) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof UserRepository && bean instanceof Advised advised) {
+                        // 트랜잭션 인터셉터보다 먼저 샤드를 정해야 트랜잭션의 커넥션이 그 샤드에서 열린다.
+                        advised.addAdvice(0, router.getObject());
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        /**
+         * ddl-auto 는 기본 샤드에만 적용되므로 나머지 샤드의 스키마를 같은 방식으로 맞춘다.
+         * update 는 검증에 실패하면(빈 DB) 새로 만든다. 운영에서는 샤드마다 같은 마이그레이션을 적용해 둔다.
+         * 스키마를 맞춘 뒤 사용자가 제 샤드에 있는지 검사한다 ({@link #verifyPlacement}).
+         */
+        @Bean
+        public SmartInitializingSingleton userShardSchema(EntityManagerFactory entityManagerFactory,
+                                                          UserShards userShards,
+                                                          ObjectProvider<UserRepository> userRepository,
+                                                          PlatformTransactionManager transactionManager,
+                                                          @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto,
+                                                          @Value("${user.sharding.verify-placement:true}") boolean verifyPlacement) {
+            return () -> {
+                SchemaManager schemaManager = entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager();
+                for (int shard = 1; shard < userShards.count(); shard++) {
+                    ShardContext.run(shard, current -> {
+                        switch (ddlAuto) {
+                            case "create", "create-drop" -> {
+                                schemaManager.dropMappedObjects(false);
+                                schemaManager.exportMappedObjects(false);
+                            }
+                            case "update" -> {
+                                try {
+                                    schemaManager.validateMappedObjects();
+                                } catch (SchemaManagementException e) {
+                                    log.info("user shard {} schema is missing, creating", current);
+                                    schemaManager.exportMappedObjects(false);
+                                }
+                            }
+                            case "validate" -> schemaManager.validateMappedObjects();
+                            default -> {
+                            }
+                        }
+                    });
+                }
+                if (verifyPlacement) {
+                    verifyPlacement(userRepository.getObject(), userShards, new TransactionTemplate(transactionManager));
+                }
+            };
+        }
+
+        /**
+         * 샤딩 전에 만든 사용자는 id 하위 비트에 샤드 번호가 없고, 샤드 수를 바꾸면 username 의 샤드가 달라진다.
+         * 어느 쪽이든 id/username 조회가 다른 샤드로 가 사용자를 찾지 못하므로 옮기기 전에는 시작하지 않는다.
+         * username 검사는 샤드마다 전체를 읽으므로 옮긴 뒤 한 번 확인했다면 verify-placement 로 끌 수 있다.
+         */
+        static void verifyPlacement(UserRepository userRepository, UserShards userShards, TransactionTemplate transaction) {
+            long started = System.currentTimeMillis();
+            AtomicLong misplacedIds = new AtomicLong();
+            AtomicLong misplacedUsernames = new AtomicLong();
+            userShards.forEachShard(shard -> transaction.executeWithoutResult(status -> {
+                misplacedIds.addAndGet(userRepository.countIdsOutsideShard(shard));
+                try (Stream<String> usernames = userRepository.streamAllUsernames()) {
+                    misplacedUsernames.addAndGet(usernames.filter(username -> userShards.ofUsername(username) != shard).count());
+                }
+            }));
+            if (misplacedIds.get() > 0 || misplacedUsernames.get() > 0) {
+                throw new IllegalStateException("제 샤드에 있지 않은 사용자가 있습니다 (id " + misplacedIds + "명, username "
+                        + misplacedUsernames + "명). README 의 사용자 샤딩 항목대로 옮긴 뒤 시작하세요.");
+            }
+            log.info("user shard placement verified: {}ms", System.currentTimeMillis() - started);
+        }
+    }
+
+    record ShardPools(List<HikariDataSource> pools) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            pools.forEach(HikariDataSource::close);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.assignment.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 서명 검증이 끝난 토큰을 만료 시각까지 보관하는 캐시 (Caffeine).
+ * 토큰 원문 대신 SHA-256 다이제스트를 키로 사용한다.
+ * 항목은 토큰의 exp 에 맞춰 만료되고, max-size 를 넘으면 자주 쓰이지 않는 항목부터 내보낸다 (전체를 훑지 않는다).
+ * 적중/실패 수는 auth.jwt.cache{result=hit|miss} 로 내보낸다.
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final boolean enabled;
+    private final LongSupplier clock;
+    private final Cache<String, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public VerifiedTokenCache(@Value("${jwt.cache.enabled:true}") boolean enabled,
+                              @Value("${jwt.cache.max-size:100000}") int maxSize) {
+        this(enabled, maxSize, System::currentTimeMillis);
+    }
+
+    /**
+     * clock 은 epoch 밀리초. 만료 판단과 Caffeine 의 시간(ticker)이 모두 이 시계를 따른다.
+     */
+    public VerifiedTokenCache(boolean enabled, int maxSize, LongSupplier clock) {
+        this.enabled = enabled;
+        this.clock = clock;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.getAsLong()))
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry value, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expiresAtMillis() - clock.getAsLong()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                // 정리 작업을 호출한 스레드에서 바로 한다. 공용 ForkJoinPool 에 작업을 넘기지 않는다.
+                .executor(Runnable::run)
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        counter(meterRegistry, hits, "hit");
+        counter(meterRegistry, misses, "miss");
+        Gauge.builder("auth.jwt.cache.size", entries, Cache::estimatedSize)
+                .description("검증된 토큰 캐시 항목 수")
+                .register(meterRegistry);
+    }
+
+    private static void counter(MeterRegistry meterRegistry, LongAdder adder, String result) {
+        FunctionCounter.builder("auth.jwt.cache", adder, LongAdder::sum)
+                .description("검증된 토큰 캐시 조회 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String keyOf(String token) {
+        MessageDigest digest = SHA_256.get();
+        byte[] hash = digest.digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+
+    public Entry get(String key) {
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry;
+    }
+
+    public void put(String key, Entry entry) {
+        if (entry.isExpired(clock.getAsLong())) {
+            return;
+        }
+        entries.put(key, entry);
+    }
+
+    /**
+     * 만료된 항목을 정리한 뒤의 항목 수.
+     */
+    public long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public record Entry(long userId, String principal, String authority, int tokenVersion, long expiresAtMillis) {
+
+        boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.assignment.domain.audit.entity;
+
+import com.example.assignment.domain.audit.enums.AuditEventType;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "auth_audit_event", indexes = {
+        @Index(name = "idx_auth_audit_event_user_id", columnList = "userId"),
+        @Index(name = "idx_auth_audit_event_occurred_at", columnList = "occurredAt")
+})
+public class AuthAuditEvent {
+
+    // 배치 INSERT 한 번에 필요한 식별자를 시퀀스 한 번으로 받는다.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "auth_audit_event_seq")
+    @SequenceGenerator(name = "auth_audit_event_seq", sequenceName = "auth_audit_event_seq", allocationSize = 500)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private AuditEventType type;
+
+    private Long userId;
+
+    // 로그인 실패는 요청에 들어온 값을 그대로 남기므로 길이를 자른다.
+    @Column(length = 100)
+    private String username;
+
+    @Column(length = 32)
+    private String detail;
+
+    @Column(nullable = false)
+    private long occurredAt;
+
+    public AuthAuditEvent(AuditEventType type, Long userId, String username, String detail, long occurredAt) {
+        this.type = type;
+        this.userId = userId;
+        this.username = username != null && username.length() > 100 ? username.substring(0, 100) : username;
+        this.detail = detail;
+        this.occurredAt = occurredAt;
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.assignment.domain.audit.enums;
+
+public enum AuditEventType {
+    SIGNUP, LOGIN_SUCCESS, LOGIN_FAILURE, ROLE_CHANGE, TOKEN_REJECTED
+}
@@ -0,0 +1,7 @@
+package com.example.assignment.domain.audit.repository;
+
+import com.example.assignment.domain.audit.entity.AuthAuditEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AuthAuditEventRepository extends JpaRepository<AuthAuditEvent, Long> {
+}
@@ -0,0 +1,204 @@
+package com.example.assignment.domain.audit.service;
+
+import com.example.assignment.domain.audit.entity.AuthAuditEvent;
+import com.example.assignment.domain.audit.enums.AuditEventType;
+import com.example.assignment.domain.audit.repository.AuthAuditEventRepository;
+import com.example.assignment.global.util.MpscRingBuffer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 인증 감사 로그. 요청 스레드는 링 버퍼에 넣기만 하고, auth-audit-writer 스레드가 모아서 배치 INSERT 한다.
+ * <p>
+ * 버퍼가 가득 차면 overflow-policy 에 따라 바로 버리거나(DROP), block-timeout 까지 기다린 뒤 버린다(BLOCK).
+ * 어느 쪽이든 요청이 감사 로그 때문에 실패하지는 않는다.
+ */
+@Slf4j
+@Component
+public class AuthAuditLog {
+
+    public enum OverflowPolicy {
+        DROP, BLOCK
+    }
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AuthAuditEventRepository repository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final MpscRingBuffer<AuthAuditEvent> buffer;
+    // 소비자 스레드에서만 쓴다.
+    private final List<AuthAuditEvent> batch;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AuthAuditLog(AuthAuditEventRepository repository,
+                        @Value("${audit.enabled:true}") boolean enabled,
+                        @Value("${audit.buffer-size:65536}") int bufferSize,
+                        @Value("${audit.batch-size:500}") int batchSize,
+                        @Value("${audit.flush-interval:200ms}") Duration flushInterval,
+                        @Value("${audit.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+                        @Value("${audit.block-timeout:5ms}") Duration blockTimeout,
+                        MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+        this.buffer = new MpscRingBuffer<>(bufferSize);
+        this.batch = new ArrayList<>(batchSize);
+
+        Gauge.builder("audit.queue.depth", buffer, MpscRingBuffer::size)
+                .description("저장을 기다리는 감사 이벤트 수")
+                .register(meterRegistry);
+        counter(meterRegistry, written, "written");
+        counter(meterRegistry, dropped, "dropped");
+        counter(meterRegistry, failed, "failed");
+    }
+
+    private static void counter(MeterRegistry meterRegistry, LongAdder adder, String result) {
+        FunctionCounter.builder("audit.events", adder, LongAdder::sum)
+                .description("감사 이벤트 처리 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::run, "auth-audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("auth audit log: bufferSize={}, batchSize={}, overflowPolicy={}",
+                buffer.capacity(), batchSize, overflowPolicy);
+    }
+
+    /**
+     * 트랜잭션 안에서 호출되면 커밋된 경우에만 남긴다.
+     */
+    public void record(AuditEventType type, Long userId, String username, String detail) {
+        if (!enabled) {
+            return;
+        }
+        AuthAuditEvent event = new AuthAuditEvent(type, userId, username, detail, System.currentTimeMillis());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    private void enqueue(AuthAuditEvent event) {
+        if (buffer.offer(event)) {
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            long deadline = System.nanoTime() + blockTimeoutNanos;
+            while (System.nanoTime() - deadline < 0) {
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                if (buffer.offer(event)) {
+                    return;
+                }
+            }
+        }
+        dropped.increment();
+    }
+
+    /**
+     * 버퍼에서 최대 batch-size 개를 꺼내 한 번에 저장한다. 저장에 실패한 배치는 다시 넣지 않고 버린다.
+     * 쓰기 스레드(또는 종료 시) 한 곳에서만 호출한다.
+     */
+    public int flush() {
+        buffer.drain(batch::add, batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int size = batch.size();
+        try {
+            repository.saveAll(batch);
+            written.add(size);
+        } catch (RuntimeException e) {
+            failed.add(size);
+            log.warn("감사 이벤트 {}건 저장 실패", size, e);
+        } finally {
+            batch.clear();
+        }
+        return size;
+    }
+
+    private void run() {
+        while (running) {
+            // 배치가 가득 찼으면 쉬지 않고 이어서 비운다.
+            if (flush() < batchSize) {
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        if (writer.isAlive()) {
+            log.warn("감사 로그 쓰기 스레드가 종료되지 않았습니다. 남은 이벤트 {}건", buffer.size());
+            return;
+        }
+        // 남은 이벤트를 모두 저장한다.
+        int flushed;
+        do {
+            flushed = flush();
+        } while (flushed > 0);
+    }
+
+    public int getQueueDepth() {
+        return buffer.size();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+}
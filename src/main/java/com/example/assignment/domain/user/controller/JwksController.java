@@ -0,0 +1,37 @@
+package com.example.assignment.domain.user.controller;
+
+import com.example.assignment.domain.user.service.JwtKeyRing;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 다른 서비스가 토큰을 직접 검증할 수 있도록 서명 공개 키를 JWK Set 으로 공개한다.
+ * HS256 모드에서는 공개할 키가 없으므로 빈 목록을 반환한다.
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final ObjectProvider<JwtKeyRing> keyRing;
+
+    // 새 키는 publish-ahead 동안 공개만 되므로, 캐시 수명이 그보다 짧으면 검증 측이 키를 놓치지 않는다.
+    @Value("${jwt.signing.jwks-max-age:5m}")
+    private Duration maxAge;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        JwtKeyRing ring = keyRing.getIfAvailable();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(maxAge).cachePublic())
+                .body(ring != null ? ring.jwks() : Map.of("keys", List.of()));
+    }
+}
@@ -1,30 +1,103 @@
 package com.example.assignment.domain.user.controller;
 
+import com.example.assignment.config.PasswordHashExecutor;
 import com.example.assignment.domain.user.dto.request.LoginRequest;
+import com.example.assignment.domain.user.dto.request.RefreshTokenRequest;
+import com.example.assignment.domain.user.dto.request.RoleChangeRequest;
 import com.example.assignment.domain.user.dto.request.SignupRequest;
+import com.example.assignment.domain.user.dto.response.RoleChangeResponse;
+import com.example.assignment.domain.user.dto.response.SignupBatchResponse;
 import com.example.assignment.domain.user.dto.response.TokenResponse;
+import com.example.assignment.domain.user.dto.response.UserPageResponse;
 import com.example.assignment.domain.user.dto.response.UserResponse;
+import com.example.assignment.domain.user.entity.User;
+import com.example.assignment.domain.user.service.RefreshTokenService;
+import com.example.assignment.domain.user.service.UserAdminService;
+import com.example.assignment.domain.user.service.UserBatchService;
 import com.example.assignment.domain.user.service.UserService;
+import com.example.assignment.global.ratelimit.LoginThrottle;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping
 public class UserController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final UserService userService;
+    private final UserBatchService userBatchService;
+    private final RefreshTokenService refreshTokenService;
+    private final PasswordHashExecutor passwordHashExecutor;
+    private final LoginThrottle loginThrottle;
+    private final UserAdminService userAdminService;
 
     @PostMapping("/signup")
-    public ResponseEntity<UserResponse> signup(@RequestBody SignupRequest request) {
-        return ResponseEntity.ok(userService.signup(request));
+    public CompletableFuture<ResponseEntity<UserResponse>> signup(@Valid @RequestBody SignupRequest request,
+                                                                  HttpServletRequest httpRequest) {
+        loginThrottle.checkSignup(httpRequest.getRemoteAddr());
+        return passwordHashExecutor.submit(() -> userService.signup(request))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping("/signup/batch")
+    public ResponseEntity<SignupBatchResponse> signupBatch(@RequestBody List<SignupRequest> requests,
+                                                           Authentication authentication) {
+        String role = authentication.getAuthorities().iterator().next().getAuthority();
+        return ResponseEntity.ok(userBatchService.signupBatch(role, requests));
     }
 
     @PostMapping("/login")
-    public ResponseEntity<TokenResponse> login(@RequestBody LoginRequest request) {
-        return ResponseEntity.ok(new TokenResponse(userService.login(request)));
+    public CompletableFuture<ResponseEntity<TokenResponse>> login(@Valid @RequestBody LoginRequest request,
+                                                                  HttpServletRequest httpRequest) {
+        // 로그인은 정규화한 username 으로 찾으므로 제한도 같은 키로 건다. (Alice, alice, " alice" 는 한 계정이다.)
+        loginThrottle.checkLogin(httpRequest.getRemoteAddr(), User.usernameKeyOf(request.getUsername()));
+        return passwordHashExecutor.submit(() -> userService.login(request))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping("/token/refresh")
+    public ResponseEntity<TokenResponse> refresh(@RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(refreshTokenService.rotate(request.getRefreshToken()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(Authentication authentication) {
+        userService.logout(Long.valueOf(authentication.getName()));
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/admin/users")
+    public ResponseEntity<UserPageResponse> listUsers(@RequestParam(defaultValue = "0") long after,
+                                                      @RequestParam(defaultValue = "50") int size,
+                                                      Authentication authentication) {
+        String role = authentication.getAuthorities().iterator().next().getAuthority();
+        return ResponseEntity.ok(userAdminService.listUsers(role, after, size));
+    }
+
+    // 비동기 요청 제한 시간(spring.mvc.async.request-timeout)에 걸리지 않도록 요청 스레드에서 바로 쓴다.
+    @GetMapping("/admin/users/export")
+    public void exportUsers(Authentication authentication, HttpServletResponse response) throws IOException {
+        String role = authentication.getAuthorities().iterator().next().getAuthority();
+        response.setContentType(NDJSON);
+        userAdminService.exportUsers(role, response.getOutputStream());
+    }
+
+    @PatchMapping("/admin/users/roles")
+    public ResponseEntity<RoleChangeResponse> changeRoles(@RequestBody RoleChangeRequest request,
+                                                          Authentication authentication) {
+        String role = authentication.getAuthorities().iterator().next().getAuthority();
+        return ResponseEntity.ok(userAdminService.changeRoles(role, request));
     }
 
     @PatchMapping("/admin/users/{userId}/roles")
@@ -32,4 +105,11 @@ public class UserController {
         String role = authentication.getAuthorities().iterator().next().getAuthority();
         return ResponseEntity.ok(userService.promoteToAdmin(userId, role));
     }
+
+    @PostMapping("/admin/users/username-filter/rebuild")
+    public ResponseEntity<Void> rebuildUsernameFilter(Authentication authentication) {
+        String role = authentication.getAuthorities().iterator().next().getAuthority();
+        userService.rebuildUsernameFilter(role);
+        return ResponseEntity.noContent().build();
+    }
 }
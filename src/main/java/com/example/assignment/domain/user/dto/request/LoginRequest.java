@@ -1,11 +1,14 @@
 package com.example.assignment.domain.user.dto.request;
 
+import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 @Getter
 @AllArgsConstructor
 public class LoginRequest {
+    @NotBlank
     private String username;
+    @NotBlank
     private String password;
 }
\ No newline at end of file
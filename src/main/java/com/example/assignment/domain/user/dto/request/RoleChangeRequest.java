@@ -0,0 +1,16 @@
+package com.example.assignment.domain.user.dto.request;
+
+import com.example.assignment.domain.user.enums.UserRole;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoleChangeRequest {
+    private List<Long> userIds;
+    private UserRole role;
+}
@@ -1,12 +1,19 @@
 package com.example.assignment.domain.user.dto.request;
 
+import com.example.assignment.domain.user.entity.User;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 @Getter
 @AllArgsConstructor
 public class SignupRequest {
+    @NotBlank
+    @Pattern(regexp = User.USERNAME_PATTERN)
     private String username;
+    @NotBlank
     private String password;
+    @NotBlank
     private String nickname;
 }
\ No newline at end of file
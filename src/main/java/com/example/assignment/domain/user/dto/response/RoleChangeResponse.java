@@ -0,0 +1,22 @@
+package com.example.assignment.domain.user.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class RoleChangeResponse {
+    private int requested;
+    private int updated;
+    private List<RoleChangeResult> results;
+
+    public static RoleChangeResponse from(List<RoleChangeResult> results) {
+        return RoleChangeResponse.builder()
+                .requested(results.size())
+                .updated((int) results.stream().filter(RoleChangeResult::isUpdated).count())
+                .results(results)
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.assignment.domain.user.dto.response;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class RoleChangeResult {
+    private Long userId;
+    private String status;
+
+    public static RoleChangeResult updated(Long userId) {
+        return new RoleChangeResult(userId, "UPDATED");
+    }
+
+    // 이미 요청한 역할인 사용자. 토큰 버전도 올리지 않는다.
+    public static RoleChangeResult unchanged(Long userId) {
+        return new RoleChangeResult(userId, "UNCHANGED");
+    }
+
+    public static RoleChangeResult notFound(Long userId) {
+        return new RoleChangeResult(userId, "NOT_FOUND");
+    }
+
+    public boolean isUpdated() {
+        return "UPDATED".equals(status);
+    }
+}
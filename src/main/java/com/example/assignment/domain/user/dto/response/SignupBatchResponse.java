@@ -0,0 +1,25 @@
+package com.example.assignment.domain.user.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class SignupBatchResponse {
+    private int requested;
+    private int created;
+    private int failed;
+    private List<SignupBatchResult> results;
+
+    public static SignupBatchResponse from(List<SignupBatchResult> results) {
+        int created = (int) results.stream().filter(SignupBatchResult::isCreated).count();
+        return SignupBatchResponse.builder()
+                .requested(results.size())
+                .created(created)
+                .failed(results.size() - created)
+                .results(results)
+                .build();
+    }
+}
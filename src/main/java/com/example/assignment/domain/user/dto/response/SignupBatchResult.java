@@ -0,0 +1,26 @@
+package com.example.assignment.domain.user.dto.response;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class SignupBatchResult {
+    private int index;
+    private String username;
+    private String status;
+    private String code;
+
+    public static SignupBatchResult created(int index, String username) {
+        return new SignupBatchResult(index, username, "CREATED", null);
+    }
+
+    public static SignupBatchResult failed(int index, String username, String code) {
+        return new SignupBatchResult(index, username, "FAILED", code);
+    }
+
+    public boolean isCreated() {
+        return code == null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.assignment.domain.user.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class UserPageResponse {
+    private List<UserSummary> users;
+    // 다음 페이지 요청의 after 값. 마지막 페이지면 null.
+    private Long nextCursor;
+}
@@ -0,0 +1,17 @@
+package com.example.assignment.domain.user.dto.response;
+
+import com.example.assignment.domain.user.enums.UserRole;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 관리자 목록/내보내기용 프로젝션. password 컬럼은 조회하지 않는다.
+ */
+@Getter
+@AllArgsConstructor
+public class UserSummary {
+    private Long id;
+    private String username;
+    private String nickname;
+    private UserRole role;
+}
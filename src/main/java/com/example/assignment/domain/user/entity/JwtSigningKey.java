@@ -0,0 +1,68 @@
+package com.example.assignment.domain.user.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * JWT 서명 키. 개인 키는 jwt.secret.key 로 AES-GCM 암호화해 저장하고, 공개 키는 JWKS 로 공개한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "jwt_signing_key")
+public class JwtSigningKey implements Persistable<String> {
+
+    @Id
+    @Column(length = 32)
+    private String kid;
+
+    @Column(nullable = false, length = 16)
+    private String algorithm;
+
+    @Lob
+    @Column(nullable = false)
+    private String encryptedPrivateKey;
+
+    @Lob
+    @Column(nullable = false)
+    private String publicKey;
+
+    @Column(nullable = false)
+    private long createdAt;
+
+    // JWKS 에 먼저 공개한 뒤 이 시각부터 서명에 사용한다.
+    @Column(nullable = false)
+    private long activatesAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    public JwtSigningKey(String kid, String algorithm, String encryptedPrivateKey, String publicKey,
+                         long createdAt, long activatesAt) {
+        this.kid = kid;
+        this.algorithm = algorithm;
+        this.encryptedPrivateKey = encryptedPrivateKey;
+        this.publicKey = publicKey;
+        this.createdAt = createdAt;
+        this.activatesAt = activatesAt;
+    }
+
+    @Override
+    public String getId() {
+        return kid;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.assignment.domain.user.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "idx_refresh_token_user_id", columnList = "userId"),
+        @Index(name = "idx_refresh_token_expires_at", columnList = "expiresAt")
+})
+public class RefreshToken implements Persistable<String> {
+
+    // 원문 대신 SHA-256 다이제스트만 저장한다.
+    @Id
+    @Column(length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private long expiresAt;
+
+    // 식별자를 직접 지정하므로 save() 가 merge 전에 SELECT 하지 않도록 새 엔티티임을 알린다.
+    @Transient
+    private boolean isNew = true;
+
+    public RefreshToken(String tokenHash, Long userId, long expiresAt) {
+        this.tokenHash = tokenHash;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String getId() {
+        return tokenHash;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
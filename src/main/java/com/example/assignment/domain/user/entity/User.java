@@ -1,22 +1,41 @@
 package com.example.assignment.domain.user.entity;
 
 import com.example.assignment.domain.user.enums.UserRole;
+import com.example.assignment.global.datasource.ShardedId;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.util.Locale;
 
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = User.USERNAME_UNIQUE, columnNames = "username"),
+        @UniqueConstraint(name = User.USERNAME_KEY_UNIQUE, columnNames = "username_key")
+})
 public class User {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public static final String USERNAME_UNIQUE = "uk_user_username";
+    public static final String USERNAME_KEY_UNIQUE = "uk_user_username_key";
+    // 출력 가능한 ASCII 만 허용한다. 공백 말고는 공백 문자가 없으므로 usernameKeyOf 가 SQL 의 lower(trim(username)) 과 같다.
+    public static final String USERNAME_PATTERN = "[\\x20-\\x7E]*";
+
+    // 샤딩을 켜면 하위 비트에 샤드 번호가 들어간다. 끄면 기존 user_seq 값 그대로다.
+    @Id
+    @ShardedId(sequenceName = "user_seq")
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String username;
 
+    // 대소문자, 앞뒤 공백만 다른 username 을 막는 유니크 인덱스. 가입은 중복 조회 없이 이 인덱스에 맡긴다.
+    @Column(name = "username_key", nullable = false)
+    private String usernameKey;
+
     @Column(nullable = false)
     private String password;
 
@@ -26,7 +45,52 @@ public class User {
     @Enumerated(EnumType.STRING)
     private UserRole role;
 
+    @Column(nullable = false, columnDefinition = "int default 0")
+    private int tokenVersion;
+
+    // 엔티티로 수정하는 경로(promoteToAdmin, logout)가 일괄 UPDATE 와 겹치면 덮어쓰지 않고 실패하게 한다.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    public static boolean isValidUsername(String username) {
+        return username != null && !username.isBlank() && username.matches(USERNAME_PATTERN);
+    }
+
+    public static String usernameKeyOf(String username) {
+        return username.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * username 유니크 인덱스 위반인지 제약 이름으로 판단한다. NOT NULL 같은 다른 무결성 위반은 중복 가입이 아니다.
+     */
+    public static boolean isUsernameConflict(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                // DB 에 따라 스키마, 테이블, 인덱스 이름이 덧붙어 온다 (MySQL: user.uk_..., H2: PUBLIC.UK_..._INDEX_2 ON ...).
+                String name = violation.getConstraintName().toLowerCase(Locale.ROOT);
+                return name.contains(USERNAME_KEY_UNIQUE) || name.contains(USERNAME_UNIQUE);
+            }
+        }
+        return false;
+    }
+
+    // 캐시 스냅숏처럼 다시 만든 엔티티를 저장해도 username 에서 다시 계산하므로 비지 않는다.
+    @PrePersist
+    @PreUpdate
+    void fillUsernameKey() {
+        usernameKey = usernameKeyOf(username);
+    }
+
     public void setRole(UserRole role) {
         this.role = role;
     }
+
+    public void changePassword(String password) {
+        this.password = password;
+    }
+
+    public int increaseTokenVersion() {
+        return ++tokenVersion;
+    }
 }
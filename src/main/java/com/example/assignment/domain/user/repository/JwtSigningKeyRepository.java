@@ -0,0 +1,11 @@
+package com.example.assignment.domain.user.repository;
+
+import com.example.assignment.domain.user.entity.JwtSigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface JwtSigningKeyRepository extends JpaRepository<JwtSigningKey, String> {
+
+    List<JwtSigningKey> findAllByOrderByActivatesAtAsc();
+}
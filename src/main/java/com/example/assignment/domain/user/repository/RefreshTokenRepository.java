@@ -0,0 +1,26 @@
+package com.example.assignment.domain.user.repository;
+
+import com.example.assignment.domain.user.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken r where r.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken r where r.userId = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") long now);
+}
@@ -1,11 +1,81 @@
 package com.example.assignment.domain.user.repository;
 
+import com.example.assignment.domain.user.dto.response.UserSummary;
 import com.example.assignment.domain.user.entity.User;
+import com.example.assignment.domain.user.enums.UserRole;
+import com.example.assignment.global.datasource.ShardedSequenceGenerator;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+// 여기 선언한 조회는 읽기 전용 트랜잭션으로 실행되어 replica 가 있으면 그쪽으로 간다 (ReadWriteRoutingDataSource).
+// 사용자를 샤딩하면 UserShardRouter 가 메서드마다 샤드를 정하므로, 새 메서드를 추가하면 라우터에도 규칙을 더한다.
+@Transactional(readOnly = true)
 public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByUsername(String username);
-    boolean existsByUsername(String username);
+
+    interface RoleView {
+        Long getId();
+        String getUsername();
+        UserRole getRole();
+        int getTokenVersion();
+    }
+
+    // 정규화한 값(User.usernameKeyOf)으로 찾는다. 가입의 중복 판단과 같은 기준이다.
+    Optional<User> findByUsernameKey(String usernameKey);
+    boolean existsByUsernameKey(String usernameKey);
+
+    @Query("select u.usernameKey from User u where u.usernameKey in :usernameKeys")
+    List<String> findExistingUsernameKeys(@Param("usernameKeys") Collection<String> usernameKeys);
+
+    // 토큰 폐기 여부를 판단하므로 복제 지연이 없는 primary 에서 읽는다 (읽기 전용이 아닌 트랜잭션).
+    @Transactional
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    @Transactional
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u.id as id, u.username as username, u.role as role, u.tokenVersion as tokenVersion"
+            + " from User u where u.id in :ids")
+    List<RoleView> lockRolesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 역할이 바뀌는 사용자만 갱신하고, 기존 토큰을 폐기하도록 토큰 버전도 함께 올린다.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update User u set u.role = :role, u.tokenVersion = u.tokenVersion + 1, u.version = u.version + 1"
+            + " where u.id in :ids and (u.role is null or u.role <> :role)")
+    int updateRoles(@Param("ids") Collection<Long> ids, @Param("role") UserRole role);
+
+    // username 필터 재구성용. 빠진 사용자는 로그인이 막히므로 primary 에서 읽는다. 호출하는 쪽 트랜잭션도 읽기 전용이 아니어야 한다.
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select u.username from User u")
+    Stream<String> streamAllUsernames();
+
+    // 샤딩 시작 검사용. 묶인 샤드에서 id 하위 비트가 그 샤드 번호가 아닌 사용자(샤딩 전에 만든 사용자) 수.
+    @Query("select count(u) from User u where mod(u.id, " + ShardedSequenceGenerator.MAX_SHARDS + ") <> :shard")
+    long countIdsOutsideShard(@Param("shard") int shard);
+
+    @Query("select new com.example.assignment.domain.user.dto.response.UserSummary(u.id, u.username, u.nickname, u.role)"
+            + " from User u where u.id > :after order by u.id")
+    List<UserSummary> findSummariesAfter(@Param("after") long after, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.example.assignment.domain.user.dto.response.UserSummary(u.id, u.username, u.nickname, u.role)"
+            + " from User u order by u.id")
+    Stream<UserSummary> streamAllSummaries();
 }
\ No newline at end of file
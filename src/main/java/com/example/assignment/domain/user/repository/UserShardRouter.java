@@ -0,0 +1,275 @@
+package com.example.assignment.domain.user.repository;
+
+import com.example.assignment.domain.user.dto.response.UserSummary;
+import com.example.assignment.domain.user.entity.User;
+import com.example.assignment.global.datasource.ShardContext;
+import com.example.assignment.global.datasource.ShardRoutingDataSource;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 샤딩을 켜면 UserRepository 프록시의 맨 앞에 붙어 호출마다 샤드를 정하고 {@link ShardContext} 에 묶은 뒤 진행한다.
+ * <ul>
+ *     <li>username 조회와 저장은 username 의 샤드, id 조회는 id 의 샤드 하나로 간다.</li>
+ *     <li>여러 키를 받는 호출(saveAll, IN 조회, 일괄 UPDATE)은 샤드별로 나눠 호출한 뒤 결과를 합친다.</li>
+ *     <li>목록과 count 는 모든 샤드에 동시에 보내고 합친다(scatter-gather).</li>
+ *     <li>스트리밍은 호출한 쪽이 {@link UserShards#forEachShard} 로 샤드를 정해야 한다.</li>
+ *     <li>규칙이 없는 메서드는 묶인 샤드가 있으면 그 샤드에서, 없으면 모든 샤드에서 실행하고 반환 타입에 따라 합친다
+ *     (List 는 이어 붙이고, 수는 더하고, boolean 은 OR, Optional 은 처음 찾은 값). 합칠 수 없는 타입은 거부하며,
+ *     UserRepository 에 직접 선언한 메서드는 생성 시점에 검사해 시작을 막는다.</li>
+ * </ul>
+ * 트랜잭션의 커넥션은 한 샤드에 묶이므로, 다른 샤드에 묶인 트랜잭션 안의 조회는 새 읽기 전용 트랜잭션으로 실행하고 쓰기는 거부한다.
+ */
+public class UserShardRouter implements MethodInterceptor {
+
+    // invoke 의 switch 에서 직접 샤드를 정하는 메서드.
+    private static final Set<String> ROUTED = Set.of(
+            "findByUsernameKey", "existsByUsernameKey",
+            "findById", "existsById", "findTokenVersionById", "deleteById", "getReferenceById",
+            "save", "saveAndFlush", "delete", "saveAll",
+            "findExistingUsernameKeys", "lockRolesByIdIn", "updateRoles",
+            "count", "findSummariesAfter", "streamAllUsernames", "streamAllSummaries", "countIdsOutsideShard");
+
+    private final UserShards shards;
+    private final TransactionTemplate foreignShardRead;
+    private final ExecutorService scatterExecutor;
+
+    public UserShardRouter(UserShards shards, PlatformTransactionManager transactionManager) {
+        verifyRoutes(UserRepository.class);
+        this.shards = shards;
+        this.foreignShardRead = new TransactionTemplate(transactionManager);
+        this.foreignShardRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.foreignShardRead.setReadOnly(true);
+        AtomicInteger sequence = new AtomicInteger();
+        this.scatterExecutor = Executors.newFixedThreadPool(shards.count(), runnable -> {
+            Thread thread = new Thread(runnable, "user-shard-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object[] args = invocation.getArguments();
+        String name = invocation.getMethod().getName();
+        return switch (name) {
+            case "findByUsernameKey", "existsByUsernameKey" -> single(invocation, shards.ofUsername((String) args[0]));
+            case "findById", "existsById", "findTokenVersionById", "deleteById", "getReferenceById" ->
+                    single(invocation, shards.ofId((Long) args[0]));
+            case "save", "saveAndFlush", "delete" -> single(invocation, shardOf((User) args[0]));
+            case "saveAll" -> concat(invokeAll(split(invocation, shards.groupBy((Iterable<User>) args[0], this::shardOf)), false));
+            case "findExistingUsernameKeys" ->
+                    concat(invokeAll(split(invocation, shards.groupBy((Collection<String>) args[0], shards::ofUsername)), true));
+            case "lockRolesByIdIn" ->
+                    concat(invokeAll(split(invocation, shards.groupBy((Collection<Long>) args[0], shards::ofId)), false));
+            case "updateRoles" -> invokeAll(split(invocation, shards.groupBy((Collection<Long>) args[0], shards::ofId)), false)
+                    .stream().mapToInt(Integer.class::cast).sum();
+            case "count" -> ShardContext.current() != null
+                    ? invocation.proceed()
+                    : invokeAll(everyShard(invocation), true).stream().mapToLong(Long.class::cast).sum();
+            case "findSummariesAfter" -> ShardContext.current() != null
+                    ? invocation.proceed()
+                    : mergeSummaries(invokeAll(everyShard(invocation), true), (Pageable) args[1]);
+            case "streamAllUsernames", "streamAllSummaries", "countIdsOutsideShard" -> {
+                if (ShardContext.current() == null) {
+                    throw new IllegalStateException(name + " 은 UserShards.forEachShard 안에서 호출해야 합니다.");
+                }
+                yield invocation.proceed();
+            }
+            case "equals", "hashCode", "toString" -> invocation.proceed();
+            default -> ShardContext.current() != null
+                    ? invocation.proceed()
+                    : merge(invocation.getMethod(), invokeAll(everyShard(invocation), isRead(name)));
+        };
+    }
+
+    /**
+     * 규칙이 없는 메서드 중 모든 샤드의 결과를 합칠 수 없는 메서드가 있으면 시작하지 않는다.
+     */
+    static void verifyRoutes(Class<?> repository) {
+        List<String> unroutable = new ArrayList<>();
+        for (Method method : repository.getDeclaredMethods()) {
+            if (!method.isSynthetic() && !ROUTED.contains(method.getName()) && !isMergeable(method.getReturnType())) {
+                unroutable.add(method.getName());
+            }
+        }
+        if (!unroutable.isEmpty()) {
+            throw new IllegalStateException("샤드를 정하는 규칙이 없고 결과를 합칠 수도 없는 UserRepository 메서드입니다. "
+                    + "UserShardRouter 에 규칙을 추가하세요: " + unroutable);
+        }
+    }
+
+    private static boolean isMergeable(Class<?> type) {
+        return type == void.class || type == long.class || type == Long.class || type == int.class || type == Integer.class
+                || type == boolean.class || type == Boolean.class || type == Optional.class
+                || (type != Object.class && type.isAssignableFrom(ArrayList.class));
+    }
+
+    private static Object merge(Method method, List<Object> parts) {
+        Class<?> type = method.getReturnType();
+        if (type == void.class) {
+            return null;
+        }
+        if (type == long.class || type == Long.class) {
+            return parts.stream().mapToLong(Long.class::cast).sum();
+        }
+        if (type == int.class || type == Integer.class) {
+            return parts.stream().mapToInt(Integer.class::cast).sum();
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return parts.stream().anyMatch(Boolean.TRUE::equals);
+        }
+        if (type == Optional.class) {
+            return parts.stream().map(Optional.class::cast).filter(Optional::isPresent).findFirst().orElse(Optional.empty());
+        }
+        if (type != Object.class && type.isAssignableFrom(ArrayList.class)) {
+            List<Object> all = new ArrayList<>();
+            for (Object part : parts) {
+                ((Iterable<?>) part).forEach(all::add);
+            }
+            return all;
+        }
+        throw new UnsupportedOperationException("샤드를 정하는 규칙이 없고 모든 샤드의 결과를 합칠 수 없는 메서드입니다: "
+                + method.getName() + " (" + type.getSimpleName() + ")");
+    }
+
+    private int shardOf(User user) {
+        return user.getId() != null ? shards.ofId(user.getId()) : shards.ofUsername(user.getUsername());
+    }
+
+    private Object single(MethodInvocation invocation, int shard) {
+        Integer transactionShard = ShardRoutingDataSource.currentTransactionShard();
+        if (transactionShard == null || transactionShard == shard) {
+            return proceedOn(shard, invocation);
+        }
+        String name = invocation.getMethod().getName();
+        if (!isRead(name)) {
+            throw new IllegalStateException("샤드 " + transactionShard + " 에 묶인 트랜잭션에서 샤드 " + shard
+                    + " 의 사용자를 변경할 수 없습니다: " + name);
+        }
+        Integer previous = ShardContext.bind(shard);
+        try {
+            return foreignShardRead.execute(status -> proceed(invocation));
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    /**
+     * 읽기이거나 바깥 트랜잭션이 없으면 샤드별 호출을 동시에 실행한다. 바깥 트랜잭션 안의 쓰기는 차례로 실행한다.
+     */
+    private List<Object> invokeAll(List<ShardCall> calls, boolean read) throws Throwable {
+        List<Object> results = new ArrayList<>(calls.size());
+        if (calls.size() == 1 || (!read && TransactionSynchronizationManager.isActualTransactionActive())) {
+            for (ShardCall call : calls) {
+                results.add(single(call.invocation(), call.shard()));
+            }
+            return results;
+        }
+
+        List<CompletableFuture<Object>> futures = new ArrayList<>(calls.size());
+        for (ShardCall call : calls) {
+            futures.add(CompletableFuture.supplyAsync(() -> proceedOn(call.shard(), call.invocation()), scatterExecutor));
+        }
+        for (CompletableFuture<Object> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                throw e.getCause();
+            }
+        }
+        return results;
+    }
+
+    private static List<ShardCall> split(MethodInvocation invocation, Map<Integer, ? extends List<?>> groups) {
+        List<ShardCall> calls = new ArrayList<>(groups.size());
+        groups.forEach((shard, items) -> {
+            Object[] arguments = invocation.getArguments().clone();
+            arguments[0] = items;
+            calls.add(new ShardCall(shard, ((ProxyMethodInvocation) invocation).invocableClone(arguments)));
+        });
+        return calls;
+    }
+
+    private List<ShardCall> everyShard(MethodInvocation invocation) {
+        List<ShardCall> calls = new ArrayList<>(shards.count());
+        for (int shard = 0; shard < shards.count(); shard++) {
+            calls.add(new ShardCall(shard, ((ProxyMethodInvocation) invocation).invocableClone()));
+        }
+        return calls;
+    }
+
+    private static List<Object> concat(List<Object> parts) {
+        List<Object> all = new ArrayList<>();
+        for (Object part : parts) {
+            all.addAll((List<?>) part);
+        }
+        return all;
+    }
+
+    // 샤드마다 after 다음 id 부터 페이지 크기만큼 읽었으므로, 합쳐 정렬한 앞부분이 전체의 다음 페이지다.
+    private static List<UserSummary> mergeSummaries(List<Object> parts, Pageable pageable) {
+        List<UserSummary> merged = new ArrayList<>();
+        for (Object part : parts) {
+            for (Object row : (List<?>) part) {
+                merged.add((UserSummary) row);
+            }
+        }
+        merged.sort(Comparator.comparing(UserSummary::getId));
+        return merged.size() > pageable.getPageSize()
+                ? new ArrayList<>(merged.subList(0, pageable.getPageSize()))
+                : merged;
+    }
+
+    private static Object proceedOn(int shard, MethodInvocation invocation) {
+        Integer previous = ShardContext.bind(shard);
+        try {
+            return proceed(invocation);
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    private static Object proceed(MethodInvocation invocation) {
+        try {
+            return invocation.proceed();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+
+    private static boolean isRead(String name) {
+        return name.startsWith("find") || name.startsWith("exists") || name.startsWith("count");
+    }
+
+    public void shutdown() {
+        scatterExecutor.shutdown();
+    }
+
+    private record ShardCall(int shard, MethodInvocation invocation) {
+    }
+}
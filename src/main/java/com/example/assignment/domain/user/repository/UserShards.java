@@ -0,0 +1,89 @@
+package com.example.assignment.domain.user.repository;
+
+import com.example.assignment.domain.user.entity.User;
+import com.example.assignment.global.datasource.ShardContext;
+import com.example.assignment.global.datasource.ShardedSequenceGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * 사용자 샤드 수와 샤드를 정하는 규칙.
+ * username 은 정규화(앞뒤 공백 제거, 소문자, {@link User#usernameKeyOf})한 값의 해시로, id 는 하위 비트({@link ShardedSequenceGenerator})로 정한다.
+ * 샤드 수를 바꾸면 기존 사용자의 위치가 달라지므로 한 번 정하면 바꾸지 않는다.
+ */
+public class UserShards {
+
+    private final int count;
+
+    public UserShards(int count) {
+        if (count < 1 || count > ShardedSequenceGenerator.MAX_SHARDS) {
+            throw new IllegalArgumentException("샤드 수는 1 이상 " + ShardedSequenceGenerator.MAX_SHARDS + " 이하여야 합니다.");
+        }
+        this.count = count;
+    }
+
+    public static UserShards single() {
+        return new UserShards(1);
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int ofUsername(String username) {
+        if (count == 1) {
+            return 0;
+        }
+        int h = User.usernameKeyOf(username).hashCode();
+        // String.hashCode 는 비슷한 문자열끼리 값이 가까우므로 비트를 섞은 뒤 나눈다 (murmur3 fmix32).
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, count);
+    }
+
+    public int ofId(long id) {
+        if (count == 1) {
+            return 0;
+        }
+        int shard = ShardedSequenceGenerator.shardOf(id);
+        if (shard >= count) {
+            throw new IllegalArgumentException("id " + id + " 의 샤드(" + shard + ")가 없습니다.");
+        }
+        return shard;
+    }
+
+    /**
+     * id 의 하위 비트가 가리키는 샤드가 있는지. 없는 샤드의 id 는 어디에도 저장될 수 없다.
+     */
+    public boolean hasShardOf(long id) {
+        return count == 1 || ShardedSequenceGenerator.shardOf(id) < count;
+    }
+
+    /**
+     * 샤드 번호 순서로, 샤드 안에서는 입력 순서를 유지해 나눈다.
+     */
+    public <T> Map<Integer, List<T>> groupBy(Iterable<? extends T> items, ToIntFunction<? super T> shardOf) {
+        Map<Integer, List<T>> groups = new TreeMap<>();
+        for (T item : items) {
+            groups.computeIfAbsent(shardOf.applyAsInt(item), key -> new ArrayList<>()).add(item);
+        }
+        return groups;
+    }
+
+    /**
+     * 샤드마다 {@link ShardContext} 를 묶은 채 차례로 실행한다. 전체를 훑는 작업(스트리밍)에 쓴다.
+     */
+    public void forEachShard(IntConsumer action) {
+        for (int shard = 0; shard < count; shard++) {
+            ShardContext.run(shard, action);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.example.assignment.domain.user.service;
+
+import com.example.assignment.domain.user.entity.JwtSigningKey;
+import com.example.assignment.domain.user.repository.JwtSigningKeyRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * ES256 서명 키 링. 키는 DB 에 저장해 모든 인스턴스가 같은 키 집합을 사용한다.
+ * <p>
+ * 새 키는 rotation-interval 마다 만들어지고, publish-ahead 동안 JWKS 에만 공개된 뒤 서명에 쓰인다.
+ * 교체된 키의 공개 키는 그 키로 서명한 토큰이 모두 만료될 때까지(access-token-expiration + clock-skew) 유지한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "jwt.signing.algorithm", havingValue = "ES256")
+public class JwtKeyRing {
+
+    public static final String ALGORITHM = "ES256";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final int GCM_IV_BYTES = 12;
+    private static final int GCM_TAG_BITS = 128;
+
+    public record SigningKey(String kid, PrivateKey privateKey, ECPublicKey publicKey, long activatesAt) {
+    }
+
+    // 활성화 시각 오름차순. 교체 시 통째로 바꾸므로 읽는 쪽은 잠금 없이 참조한다.
+    private record Ring(List<SigningKey> keys, Map<String, SigningKey> byKid, Map<String, Object> jwks) {
+    }
+
+    private final JwtSigningKeyRepository repository;
+    private final SecretKeySpec encryptionKey;
+    private final long rotationIntervalMillis;
+    private final long publishAheadMillis;
+    private final long retentionMillis;
+    private final LongSupplier clock;
+
+    private volatile Ring ring = new Ring(List.of(), Map.of(), Map.of("keys", List.of()));
+
+    @Autowired
+    public JwtKeyRing(JwtSigningKeyRepository repository,
+                      @Value("${jwt.secret.key}") String secretKey,
+                      @Value("${jwt.signing.rotation-interval:7d}") Duration rotationInterval,
+                      @Value("${jwt.signing.publish-ahead:10m}") Duration publishAhead,
+                      @Value("${jwt.access-token-expiration:15m}") Duration accessTokenExpiration,
+                      @Value("${jwt.signing.clock-skew:1m}") Duration clockSkew) {
+        this(repository, secretKey, rotationInterval, publishAhead, accessTokenExpiration, clockSkew,
+                System::currentTimeMillis);
+    }
+
+    public JwtKeyRing(JwtSigningKeyRepository repository, String secretKey, Duration rotationInterval,
+                      Duration publishAhead, Duration accessTokenExpiration, Duration clockSkew, LongSupplier clock) {
+        this.repository = repository;
+        this.encryptionKey = new SecretKeySpec(sha256(Base64.getDecoder().decode(secretKey)), "AES");
+        this.rotationIntervalMillis = rotationInterval.toMillis();
+        this.publishAheadMillis = publishAhead.toMillis();
+        this.retentionMillis = accessTokenExpiration.plus(clockSkew).toMillis();
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void init() {
+        refresh();
+        log.info("jwt key ring loaded: {} key(s), active kid={}", ring.keys().size(), active().kid());
+    }
+
+    /**
+     * DB 의 키 집합을 다시 읽고, 필요하면 새 키를 만들고 만료된 키를 지운다.
+     * 여러 인스턴스가 동시에 새 키를 만들어도 모두 공개되고, 가장 늦게 활성화되는 키로 수렴한다.
+     */
+    @Scheduled(fixedDelayString = "${jwt.signing.refresh-interval-ms:60000}",
+            initialDelayString = "${jwt.signing.refresh-interval-ms:60000}")
+    public void refresh() {
+        long now = clock.getAsLong();
+        List<JwtSigningKey> stored = new ArrayList<>(repository.findAllByOrderByActivatesAtAsc());
+
+        if (stored.isEmpty()) {
+            // 아직 아무도 검증하지 않으므로 공개 대기 없이 바로 사용한다.
+            stored.add(repository.save(generate(now, now)));
+        } else if (stored.get(stored.size() - 1).getCreatedAt() + rotationIntervalMillis <= now) {
+            stored.add(repository.save(generate(now, now + publishAheadMillis)));
+        }
+
+        List<JwtSigningKey> retained = new ArrayList<>();
+        for (int i = 0; i < stored.size(); i++) {
+            JwtSigningKey key = stored.get(i);
+            boolean superseded = i + 1 < stored.size() && stored.get(i + 1).getActivatesAt() <= now;
+            if (superseded && stored.get(i + 1).getActivatesAt() + retentionMillis <= now) {
+                repository.delete(key);
+                log.info("jwt signing key retired: kid={}", key.getKid());
+            } else {
+                retained.add(key);
+            }
+        }
+
+        List<SigningKey> keys = new ArrayList<>(retained.size());
+        for (JwtSigningKey key : retained) {
+            keys.add(decode(key));
+        }
+        ring = build(keys);
+    }
+
+    /**
+     * 지금 서명에 사용할 키. 이미 활성화된 키 중 가장 최근 것.
+     */
+    public SigningKey active() {
+        long now = clock.getAsLong();
+        List<SigningKey> keys = ring.keys();
+        for (int i = keys.size() - 1; i >= 0; i--) {
+            SigningKey key = keys.get(i);
+            if (key.activatesAt() <= now && key.privateKey() != null) {
+                return key;
+            }
+        }
+        throw new IllegalStateException("사용 가능한 JWT 서명 키가 없습니다.");
+    }
+
+    /**
+     * 공개 중인 모든 키. 활성화 시각 오름차순.
+     */
+    public List<SigningKey> keys() {
+        return ring.keys();
+    }
+
+    public ECPublicKey publicKey(String kid) {
+        SigningKey key = ring.byKid().get(kid);
+        return key != null ? key.publicKey() : null;
+    }
+
+    /**
+     * RFC 7517 JWK Set. 공개 대기 중인 키와 교체 후 유지 중인 키를 모두 포함한다.
+     */
+    public Map<String, Object> jwks() {
+        return ring.jwks();
+    }
+
+    private static Ring build(List<SigningKey> keys) {
+        Map<String, SigningKey> byKid = new HashMap<>();
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        for (SigningKey key : keys) {
+            byKid.put(key.kid(), key);
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("kid", key.kid());
+            jwk.put("use", "sig");
+            jwk.put("alg", ALGORITHM);
+            jwk.put("x", coordinate(key.publicKey().getW().getAffineX()));
+            jwk.put("y", coordinate(key.publicKey().getW().getAffineY()));
+            jwks.add(jwk);
+        }
+        return new Ring(List.copyOf(keys), Map.copyOf(byKid), Map.of("keys", List.copyOf(jwks)));
+    }
+
+    private JwtSigningKey generate(long now, long activatesAt) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"), RANDOM);
+            KeyPair keyPair = generator.generateKeyPair();
+
+            byte[] kidBytes = new byte[16];
+            RANDOM.nextBytes(kidBytes);
+            String kid = URL_ENCODER.encodeToString(kidBytes);
+
+            log.info("jwt signing key created: kid={}, activatesAt={}", kid, activatesAt);
+            return new JwtSigningKey(kid, ALGORITHM,
+                    encrypt(kid, keyPair.getPrivate().getEncoded()),
+                    Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()),
+                    now, activatesAt);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("JWT 서명 키를 만들 수 없습니다.", e);
+        }
+    }
+
+    private SigningKey decode(JwtSigningKey stored) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            ECPublicKey publicKey = (ECPublicKey) keyFactory.generatePublic(
+                    new X509EncodedKeySpec(Base64.getDecoder().decode(stored.getPublicKey())));
+            PrivateKey privateKey = null;
+            try {
+                privateKey = keyFactory.generatePrivate(
+                        new PKCS8EncodedKeySpec(decrypt(stored.getKid(), stored.getEncryptedPrivateKey())));
+            } catch (GeneralSecurityException e) {
+                // jwt.secret.key 가 바뀐 경우. 검증은 계속 할 수 있도록 공개 키만 유지한다.
+                log.warn("jwt signing key {} cannot be decrypted; keeping it for verification only", stored.getKid());
+            }
+            return new SigningKey(stored.getKid(), privateKey, publicKey, stored.getActivatesAt());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("JWT 공개 키를 읽을 수 없습니다: " + stored.getKid(), e);
+        }
+    }
+
+    private String encrypt(String kid, byte[] plain) throws GeneralSecurityException {
+        byte[] iv = new byte[GCM_IV_BYTES];
+        RANDOM.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(GCM_TAG_BITS, iv));
+        cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+        byte[] encrypted = cipher.doFinal(plain);
+
+        byte[] out = Arrays.copyOf(iv, iv.length + encrypted.length);
+        System.arraycopy(encrypted, 0, out, iv.length, encrypted.length);
+        return Base64.getEncoder().encodeToString(out);
+    }
+
+    private byte[] decrypt(String kid, String encoded) throws GeneralSecurityException {
+        byte[] in = Base64.getDecoder().decode(encoded);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(GCM_TAG_BITS, in, 0, GCM_IV_BYTES));
+        cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+        return cipher.doFinal(in, GCM_IV_BYTES, in.length - GCM_IV_BYTES);
+    }
+
+    /**
+     * 좌표를 부호 없는 32바이트 big-endian 으로 맞춘 뒤 base64url 로 인코딩한다.
+     */
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+        return URL_ENCODER.encodeToString(fixed);
+    }
+
+    private static byte[] sha256(byte[] input) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(input);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
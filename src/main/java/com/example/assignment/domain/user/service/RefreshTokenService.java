@@ -0,0 +1,114 @@
+package com.example.assignment.domain.user.service;
+
+import com.example.assignment.config.JwtUtil;
+import com.example.assignment.domain.user.dto.response.TokenResponse;
+import com.example.assignment.domain.user.entity.RefreshToken;
+import com.example.assignment.domain.user.entity.User;
+import com.example.assignment.domain.user.repository.RefreshTokenRepository;
+import com.example.assignment.global.exception.InvalidRefreshTokenException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * 불투명(opaque) 리프레시 토큰 발급과 교체(rotation).
+ * 세션 갱신에는 비밀번호 검증이 필요 없으므로 BCrypt 를 거치지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
+    private final UserCache userCache;
+    private final TokenVersionStore tokenVersionStore;
+    private final JwtUtil jwtUtil;
+
+    @Value("${jwt.refresh-token.expiration:14d}")
+    private Duration refreshTokenExpiration;
+
+    public String issue(Long userId) {
+        byte[] random = new byte[32];
+        RANDOM.nextBytes(random);
+        String rawToken = ENCODER.encodeToString(random);
+        String tokenHash = hash(rawToken);
+        long expiresAt = System.currentTimeMillis() + refreshTokenExpiration.toMillis();
+
+        refreshTokenRepository.save(new RefreshToken(tokenHash, userId, expiresAt));
+        refreshTokenStore.put(tokenHash, userId, expiresAt);
+        return rawToken;
+    }
+
+    @Transactional
+    public TokenResponse rotate(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new InvalidRefreshTokenException();
+        }
+
+        String tokenHash = hash(rawToken);
+        long userId = findUserId(tokenHash);
+
+        // 한 번만 사용할 수 있도록 삭제에 성공한 요청만 새 토큰을 받는다.
+        refreshTokenStore.remove(tokenHash);
+        if (refreshTokenRepository.deleteByTokenHash(tokenHash) == 0) {
+            throw new InvalidRefreshTokenException();
+        }
+
+        User cached = userCache.findById(userId)
+                .orElseThrow(InvalidRefreshTokenException::new);
+        // 캐시의 역할/버전은 ttl 만큼 늦을 수 있어 현재 토큰 버전과 맞춰 본 뒤 발급한다.
+        User user = userCache.refreshIfStale(cached, tokenVersionStore.currentVersion(userId))
+                .orElseThrow(InvalidRefreshTokenException::new);
+        int tokenVersion = tokenVersionStore.observe(user.getId(), user.getTokenVersion());
+        String accessToken = jwtUtil.createToken(user.getId(), user.getUsername(), user.getRole(), tokenVersion);
+        return new TokenResponse(accessToken, issue(user.getId()));
+    }
+
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.deleteAllByUserId(userId);
+        refreshTokenStore.removeUser(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-token.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        int evicted = refreshTokenStore.evictExpired(now);
+        int deleted = refreshTokenRepository.deleteExpired(now);
+        log.debug("purged expired refresh tokens: memory={}, db={}", evicted, deleted);
+    }
+
+    private long findUserId(String tokenHash) {
+        RefreshTokenStore.Entry cached = refreshTokenStore.get(tokenHash);
+        if (cached != null) {
+            return cached.userId();
+        }
+
+        RefreshToken stored = refreshTokenRepository.findById(tokenHash)
+                .filter(token -> token.getExpiresAt() > System.currentTimeMillis())
+                .orElseThrow(InvalidRefreshTokenException::new);
+        return stored.getUserId();
+    }
+
+    public static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return ENCODER.encodeToString(digest.digest(rawToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
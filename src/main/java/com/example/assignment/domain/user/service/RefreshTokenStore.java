@@ -0,0 +1,115 @@
+package com.example.assignment.domain.user.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 리프레시 토큰의 메모리 저장소. DB 가 원본이고, 여기서는 조회 한 번을 줄이기 위한 사본만 둔다.
+ * 가득 차거나 만료되면 만료 시각이 가장 이른 항목부터 제거한다.
+ * 사용자별 토큰 목록을 함께 두어 전체 로그아웃 때 그 사용자의 항목만 바로 지운다.
+ */
+@Component
+public class RefreshTokenStore {
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Expiry> byExpiry = new ConcurrentSkipListSet<>(
+            Comparator.comparingLong(Expiry::expiresAt).thenComparing(Expiry::tokenHash));
+    private final ConcurrentHashMap<Long, Set<String>> byUser = new ConcurrentHashMap<>();
+
+    public RefreshTokenStore(@Value("${jwt.refresh-token.store-max-entries:500000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public void put(String tokenHash, long userId, long expiresAt) {
+        entries.put(tokenHash, new Entry(userId, expiresAt));
+        byExpiry.add(new Expiry(expiresAt, tokenHash));
+        byUser.compute(userId, (key, hashes) -> {
+            Set<String> tokens = hashes != null ? hashes : ConcurrentHashMap.newKeySet();
+            tokens.add(tokenHash);
+            return tokens;
+        });
+        while (entries.size() > maxEntries) {
+            Expiry eldest = byExpiry.pollFirst();
+            if (eldest == null) {
+                break;
+            }
+            unlink(eldest.tokenHash(), entries.remove(eldest.tokenHash()));
+        }
+    }
+
+    public Entry get(String tokenHash) {
+        Entry entry = entries.get(tokenHash);
+        if (entry != null && entry.expiresAt() <= System.currentTimeMillis()) {
+            remove(tokenHash);
+            return null;
+        }
+        return entry;
+    }
+
+    public void remove(String tokenHash) {
+        Entry entry = entries.remove(tokenHash);
+        if (entry != null) {
+            byExpiry.remove(new Expiry(entry.expiresAt(), tokenHash));
+            unlink(tokenHash, entry);
+        }
+    }
+
+    /**
+     * 사용자의 토큰을 모두 지운다. 전체 로그아웃 직후 이 인스턴스에서도 더 이상 찾을 수 없다.
+     */
+    public int removeUser(long userId) {
+        Set<String> hashes = byUser.remove(userId);
+        if (hashes == null) {
+            return 0;
+        }
+        int removed = 0;
+        for (String tokenHash : hashes) {
+            Entry entry = entries.remove(tokenHash);
+            if (entry != null) {
+                byExpiry.remove(new Expiry(entry.expiresAt(), tokenHash));
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public int evictExpired(long now) {
+        int evicted = 0;
+        for (Expiry eldest : byExpiry) {
+            if (eldest.expiresAt() > now) {
+                break;
+            }
+            if (byExpiry.remove(eldest)) {
+                unlink(eldest.tokenHash(), entries.remove(eldest.tokenHash()));
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    private void unlink(String tokenHash, Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        byUser.computeIfPresent(entry.userId(), (key, hashes) -> {
+            hashes.remove(tokenHash);
+            return hashes.isEmpty() ? null : hashes;
+        });
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public record Entry(long userId, long expiresAt) {
+    }
+
+    private record Expiry(long expiresAt, String tokenHash) {
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.assignment.domain.user.service;
+
+import com.example.assignment.domain.user.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 사용자별 토큰 버전(epoch) 캐시.
+ * 토큰의 ver 클레임이 현재 버전과 다르면 폐기된 토큰이다.
+ * 로그아웃, 권한 변경 시 버전을 올리면 그 이전에 발급된 토큰이 모두 무효가 된다.
+ * 다른 인스턴스에서 올린 버전은 항목의 ttl 이 지나 다시 읽을 때 반영된다.
+ * 적중/실패 수는 auth.token.version{result=hit|miss} 로 내보낸다.
+ */
+@Component
+public class TokenVersionStore implements MeterBinder {
+
+    private static final int UNKNOWN_USER = -1;
+
+    private final UserRepository userRepository;
+    private final int maxEntries;
+    private final long ttlNanos;
+    // ConcurrentHashMap 은 버킷 단위로 잠금이 나뉘어 있어 조회는 락 없이 수행된다.
+    private final ConcurrentHashMap<Long, Version> versions = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public TokenVersionStore(UserRepository userRepository,
+                             @Value("${jwt.token-version.max-entries:1000000}") int maxEntries,
+                             @Value("${jwt.token-version.ttl:30s}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        counter(meterRegistry, hits, "hit");
+        counter(meterRegistry, misses, "miss");
+        Gauge.builder("auth.token.version.size", versions, ConcurrentHashMap::size)
+                .description("캐시한 토큰 버전 수")
+                .register(meterRegistry);
+    }
+
+    private static void counter(MeterRegistry meterRegistry, LongAdder adder, String result) {
+        FunctionCounter.builder("auth.token.version", adder, LongAdder::sum)
+                .description("토큰 버전 캐시 조회 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public boolean isCurrent(long userId, int tokenVersion) {
+        return currentVersion(userId) == tokenVersion;
+    }
+
+    public int currentVersion(long userId) {
+        long now = System.nanoTime();
+        Version cached = versions.get(userId);
+        if (cached != null && now - cached.loadedAtNanos() < ttlNanos) {
+            hits.increment();
+            return cached.value();
+        }
+
+        misses.increment();
+        Integer loaded = userRepository.findTokenVersionById(userId).orElse(null);
+        if (loaded == null) {
+            return UNKNOWN_USER;
+        }
+        if (cached == null && versions.size() >= maxEntries) {
+            evictSome();
+        }
+        Version fresh = new Version(loaded, now);
+        // 조회 중 update() 가 먼저 반영됐다면 더 최신 값이므로 덮어쓰지 않는다.
+        Version current = cached == null
+                ? versions.putIfAbsent(userId, fresh)
+                : (versions.replace(userId, cached, fresh) ? null : versions.get(userId));
+        return current != null ? current.value() : loaded;
+    }
+
+    /**
+     * 트랜잭션 안에서 호출되면 커밋 이후에 반영한다.
+     */
+    public void update(long userId, int tokenVersion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.put(userId, new Version(tokenVersion, System.nanoTime()));
+                }
+            });
+        } else {
+            versions.put(userId, new Version(tokenVersion, System.nanoTime()));
+        }
+    }
+
+    /**
+     * DB 에서 함께 읽은 버전을 알린다. 캐시보다 새 값이면 반영하고, 둘 중 최신 버전을 돌려준다.
+     */
+    public int observe(long userId, int tokenVersion) {
+        int current = currentVersion(userId);
+        if (tokenVersion > current) {
+            versions.put(userId, new Version(tokenVersion, System.nanoTime()));
+            return tokenVersion;
+        }
+        return current;
+    }
+
+    public void invalidate(long userId) {
+        versions.remove(userId);
+    }
+
+    public int size() {
+        return versions.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    private void evictSome() {
+        int toEvict = Math.max(1, maxEntries / 10);
+        Iterator<Long> keys = versions.keySet().iterator();
+        while (toEvict-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Version(int value, long loadedAtNanos) {
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.assignment.domain.user.service;
+
+import com.example.assignment.domain.audit.enums.AuditEventType;
+import com.example.assignment.domain.audit.service.AuthAuditLog;
+import com.example.assignment.domain.user.dto.request.RoleChangeRequest;
+import com.example.assignment.domain.user.dto.response.RoleChangeResponse;
+import com.example.assignment.domain.user.dto.response.RoleChangeResult;
+import com.example.assignment.domain.user.dto.response.UserPageResponse;
+import com.example.assignment.domain.user.dto.response.UserSummary;
+import com.example.assignment.domain.user.enums.UserRole;
+import com.example.assignment.domain.user.repository.UserRepository;
+import com.example.assignment.domain.user.repository.UserShards;
+import com.example.assignment.global.exception.AdminRequiredException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * 관리자용 사용자 목록, 내보내기, 일괄 역할 변경.
+ * 목록과 내보내기는 엔티티 대신 {@link UserSummary} 프로젝션을 읽으므로 password 를 가져오지 않고 영속성 컨텍스트에도 쌓이지 않는다.
+ * 사용자를 샤딩하면 목록은 모든 샤드에서 동시에 읽어 합치고, 내보내기와 역할 변경은 샤드별로 처리한다.
+ */
+@Service
+public class UserAdminService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int FLUSH_EVERY = 1000;
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final TokenVersionStore tokenVersionStore;
+    private final UserCache userCache;
+    private final AuthAuditLog authAuditLog;
+    private final UserShards userShards;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter ndjsonWriter;
+    private final int maxBatchSize;
+
+    public UserAdminService(UserRepository userRepository,
+                            TokenVersionStore tokenVersionStore,
+                            UserCache userCache,
+                            AuthAuditLog authAuditLog,
+                            UserShards userShards,
+                            PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper,
+                            @Value("${user.batch.max-size:5000}") int maxBatchSize) {
+        this.userRepository = userRepository;
+        this.tokenVersionStore = tokenVersionStore;
+        this.userCache = userCache;
+        this.authAuditLog = authAuditLog;
+        this.userShards = userShards;
+        this.maxBatchSize = maxBatchSize;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.ndjsonWriter = objectMapper.writerFor(UserSummary.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+    }
+
+    /**
+     * id 기준 keyset 페이지네이션. OFFSET 없이 PK 인덱스에서 after 다음 행부터 읽는다.
+     */
+    public UserPageResponse listUsers(String role, long after, int size) {
+        checkAdmin(role);
+        if (size < 1) {
+            throw new IllegalArgumentException("size 는 1 이상이어야 합니다.");
+        }
+
+        int limit = Math.min(size, MAX_PAGE_SIZE);
+        // 한 행 더 읽어 다음 페이지가 있는지 확인한다.
+        List<UserSummary> rows = userRepository.findSummariesAfter(after, PageRequest.ofSize(limit + 1));
+        if (rows.size() <= limit) {
+            return new UserPageResponse(rows, null);
+        }
+        List<UserSummary> page = rows.subList(0, limit);
+        return new UserPageResponse(page, page.get(limit - 1).getId());
+    }
+
+    /**
+     * 전체 사용자를 한 줄에 하나씩 JSON 으로 쓴다.
+     * 커서(useCursorFetch + fetch size)로 읽은 행을 바로 쓰므로 사용자 수와 관계없이 메모리 사용량이 일정하다.
+     * 샤드가 여럿이면 샤드 순서로 이어 쓴다.
+     */
+    public long exportUsers(String role, OutputStream out) throws IOException {
+        checkAdmin(role);
+
+        JsonGenerator generator = ndjsonWriter.createGenerator(out);
+        long[] written = new long[1];
+        try {
+            userShards.forEachShard(shard -> readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<UserSummary> users = userRepository.streamAllSummaries()) {
+                    for (Iterator<UserSummary> it = users.iterator(); it.hasNext(); ) {
+                        ndjsonWriter.writeValue(generator, it.next());
+                        if (++written[0] % FLUSH_EVERY == 0) {
+                            generator.flush();
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            if (written[0] > 0) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+            return written[0];
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 여러 사용자의 역할을 한 트랜잭션에서 바꾼다. 1000건씩 잠금 조회 후 UPDATE ... WHERE id IN (...) 한 번으로 반영한다.
+     * 잠금 순서가 요청마다 같도록 id 오름차순으로 처리한다.
+     * 샤드가 여럿이면 샤드마다 따로 커밋하므로, 한 샤드에서 실패해도 앞서 커밋한 샤드의 변경은 남는다.
+     */
+    public RoleChangeResponse changeRoles(String role, RoleChangeRequest request) {
+        checkAdmin(role);
+        if (request.getUserIds() == null || request.getUserIds().isEmpty() || request.getRole() == null) {
+            throw new IllegalArgumentException("변경할 사용자와 역할이 필요합니다.");
+        }
+        if (request.getUserIds().size() > maxBatchSize) {
+            throw new IllegalArgumentException("한 번에 변경할 수 있는 사용자 수(" + maxBatchSize + "명)를 초과했습니다.");
+        }
+
+        UserRole target = request.getRole();
+        // 없는 샤드를 가리키는 id 는 조회할 곳이 없으므로 건너뛰고 NOT_FOUND 로 돌려준다.
+        List<Long> userIds = request.getUserIds().stream()
+                .filter(Objects::nonNull)
+                .filter(userShards::hasShardOf)
+                .distinct()
+                .sorted()
+                .toList();
+        Map<Long, RoleChangeResult> results = new HashMap<>();
+        for (List<Long> shardUserIds : userShards.groupBy(userIds, userShards::ofId).values()) {
+            transaction.executeWithoutResult(status -> changeRolesOnShard(shardUserIds, target, results));
+        }
+
+        List<RoleChangeResult> ordered = request.getUserIds().stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(id -> results.getOrDefault(id, RoleChangeResult.notFound(id)))
+                .toList();
+        return RoleChangeResponse.from(ordered);
+    }
+
+    private void changeRolesOnShard(List<Long> userIds, UserRole target, Map<Long, RoleChangeResult> results) {
+        for (int from = 0; from < userIds.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, userIds.size()));
+            List<UserRepository.RoleView> rows = userRepository.lockRolesByIdIn(chunk);
+
+            List<Long> toUpdate = new ArrayList<>(rows.size());
+            for (UserRepository.RoleView row : rows) {
+                if (row.getRole() == target) {
+                    results.put(row.getId(), RoleChangeResult.unchanged(row.getId()));
+                } else {
+                    toUpdate.add(row.getId());
+                    results.put(row.getId(), RoleChangeResult.updated(row.getId()));
+                    // 기존 토큰의 userRole 클레임이 더 이상 맞지 않으므로 폐기한다. 커밋 이후에 반영된다.
+                    tokenVersionStore.update(row.getId(), row.getTokenVersion() + 1);
+                    userCache.evict(row.getId(), row.getUsername());
+                    authAuditLog.record(AuditEventType.ROLE_CHANGE, row.getId(), row.getUsername(), target.name());
+                }
+            }
+            if (!toUpdate.isEmpty() && userRepository.updateRoles(toUpdate, target) != toUpdate.size()) {
+                throw new IllegalStateException("잠금을 잡은 사용자의 역할 변경 건수가 일치하지 않습니다.");
+            }
+        }
+    }
+
+    private static void checkAdmin(String role) {
+        if (!"ADMIN".equals(role)) {
+            throw new AdminRequiredException();
+        }
+    }
+}
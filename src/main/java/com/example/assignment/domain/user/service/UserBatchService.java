@@ -0,0 +1,133 @@
+package com.example.assignment.domain.user.service;
+
+import com.example.assignment.config.PasswordHashExecutor;
+import com.example.assignment.domain.audit.enums.AuditEventType;
+import com.example.assignment.domain.audit.service.AuthAuditLog;
+import com.example.assignment.domain.user.dto.request.SignupRequest;
+import com.example.assignment.domain.user.dto.response.SignupBatchResponse;
+import com.example.assignment.domain.user.dto.response.SignupBatchResult;
+import com.example.assignment.domain.user.entity.User;
+import com.example.assignment.domain.user.enums.UserRole;
+import com.example.assignment.domain.user.repository.UserRepository;
+import com.example.assignment.global.exception.AdminRequiredException;
+import com.example.assignment.global.exception.UserAlreadyExistsException;
+import com.example.assignment.global.password.PasswordHasher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class UserBatchService {
+
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final PasswordHashExecutor passwordHashExecutor;
+    private final UsernameBloomFilter usernameBloomFilter;
+    private final PasswordHasher passwordHasher;
+    private final UserCache userCache;
+    private final AuthAuditLog authAuditLog;
+
+    @Value("${user.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    /**
+     * 관리자만 호출할 수 있다. 비밀번호 해싱은 공용 해시 풀의 일부 스레드만 사용한다 ({@link PasswordHashExecutor#mapInParallel}).
+     */
+    public SignupBatchResponse signupBatch(String role, List<SignupRequest> requests) {
+        if (!"ADMIN".equals(role)) {
+            throw new AdminRequiredException();
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("한 번에 가입할 수 있는 사용자 수(" + maxBatchSize + "명)를 초과했습니다.");
+        }
+
+        SignupBatchResult[] results = new SignupBatchResult[requests.size()];
+        // 정규화한 username(User.usernameKeyOf) 기준으로 중복을 거른다. 유니크 인덱스와 같은 기준이다.
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            SignupRequest request = requests.get(i);
+            if (!isValid(request)) {
+                results[i] = SignupBatchResult.failed(i, request != null ? request.getUsername() : null, "INVALID_REQUEST");
+            } else if (candidates.putIfAbsent(User.usernameKeyOf(request.getUsername()), i) != null) {
+                results[i] = SignupBatchResult.failed(i, request.getUsername(), "DUPLICATE_IN_REQUEST");
+            }
+        }
+
+        Set<String> existing = findExistingUsernameKeys(new ArrayList<>(candidates.keySet()));
+        List<Integer> toCreate = new ArrayList<>(candidates.size());
+        candidates.forEach((usernameKey, index) -> {
+            if (existing.contains(usernameKey)) {
+                results[index] = SignupBatchResult.failed(index, requests.get(index).getUsername(), "USER_ALREADY_EXISTS");
+            } else {
+                toCreate.add(index);
+            }
+        });
+
+        List<String> hashes = passwordHashExecutor.mapInParallel(toCreate, index ->
+                passwordHasher.hash(requests.get(index).getPassword().toCharArray()));
+
+        List<User> users = new ArrayList<>(toCreate.size());
+        for (int i = 0; i < toCreate.size(); i++) {
+            SignupRequest request = requests.get(toCreate.get(i));
+            users.add(User.builder()
+                    .username(request.getUsername())
+                    .password(hashes.get(i))
+                    .nickname(request.getNickname())
+                    .role(UserRole.USER)
+                    .build());
+        }
+
+        try {
+            userRepository.saveAll(users);
+        } catch (DataIntegrityViolationException e) {
+            if (!User.isUsernameConflict(e)) {
+                throw e;
+            }
+            // 중복 검사 이후 동시에 가입된 사용자가 있으면 배치 전체가 롤백된다.
+            // 사용자를 샤딩하면 샤드별로 나눠 저장하므로 그 샤드의 몫만 롤백된다. 다른 샤드에 저장된 사용자가
+            // 로그인에서 "없음" 으로 걸러지지 않도록 필터에는 모두 넣어 둔다 (잘못 넣은 값은 오탐일 뿐이다).
+            for (User user : users) {
+                usernameBloomFilter.add(user.getUsername());
+                userCache.evictUsername(user.getUsername());
+            }
+            throw new UserAlreadyExistsException();
+        }
+
+        for (int i = 0; i < toCreate.size(); i++) {
+            int index = toCreate.get(i);
+            usernameBloomFilter.add(requests.get(index).getUsername());
+            userCache.evictUsername(requests.get(index).getUsername());
+            authAuditLog.record(AuditEventType.SIGNUP, users.get(i).getId(), users.get(i).getUsername(), null);
+            results[index] = SignupBatchResult.created(index, requests.get(index).getUsername());
+        }
+        return SignupBatchResponse.from(Arrays.asList(results));
+    }
+
+    private Set<String> findExistingUsernameKeys(List<String> usernameKeys) {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < usernameKeys.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<String> chunk = usernameKeys.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, usernameKeys.size()));
+            existing.addAll(userRepository.findExistingUsernameKeys(chunk));
+        }
+        return existing;
+    }
+
+    private boolean isValid(SignupRequest request) {
+        return request != null
+                && User.isValidUsername(request.getUsername())
+                && StringUtils.hasText(request.getPassword())
+                && StringUtils.hasText(request.getNickname());
+    }
+}
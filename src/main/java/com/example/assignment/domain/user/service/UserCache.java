@@ -0,0 +1,223 @@
+package com.example.assignment.domain.user.service;
+
+import com.example.assignment.domain.user.entity.User;
+import com.example.assignment.domain.user.enums.UserRole;
+import com.example.assignment.domain.user.repository.UserRepository;
+import com.example.assignment.global.datasource.ReadYourWrites;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * id/username 으로 조회한 사용자를 잠시 보관하는 읽기 캐시 (Caffeine, W-TinyLFU).
+ * <p>
+ * 엔티티 대신 불변 스냅샷을 보관하고, 적중하면 분리(detached)된 새 User 를 만들어 돌려준다.
+ * 이 인스턴스의 권한 변경/로그아웃/비밀번호 변경은 커밋 후 바로 지우고,
+ * 다른 인스턴스의 변경은 ttl 이 지나 다시 읽을 때 반영된다 (jwt.token-version.ttl 과 같은 기준).
+ * username 은 정규화한 값({@link User#usernameKeyOf})으로 찾고 보관하므로 대소문자, 앞뒤 공백만 다른 입력은 같은 사용자다.
+ * 존재하지 않는 username 은 negative-ttl 동안 기억해 없는 계정에 대한 반복 조회를 막는다.
+ * 지운 사용자는 {@link ReadYourWrites} 에도 알려 복제 지연 동안 primary 에서 다시 읽게 한다.
+ */
+@Component
+public class UserCache {
+
+    private static final Snapshot MISSING = new Snapshot(null, null, null, null, null, null, 0, 0);
+
+    private final UserRepository userRepository;
+    private final ReadYourWrites readYourWrites;
+    private final boolean enabled;
+    private final boolean negativeCaching;
+    private final Cache<Long, Snapshot> byId;
+    private final Cache<String, Snapshot> byUsername;
+
+    public UserCache(UserRepository userRepository,
+                     ReadYourWrites readYourWrites,
+                     @Value("${user.cache.enabled:true}") boolean enabled,
+                     @Value("${user.cache.max-size:100000}") long maxSize,
+                     @Value("${user.cache.ttl:30s}") Duration ttl,
+                     @Value("${user.cache.negative-ttl:5s}") Duration negativeTtl,
+                     MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.readYourWrites = readYourWrites;
+        this.enabled = enabled;
+        this.negativeCaching = !negativeTtl.isZero();
+        long ttlNanos = ttl.toNanos();
+        long negativeTtlNanos = negativeTtl.toNanos();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.byUsername = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Snapshot>() {
+                    @Override
+                    public long expireAfterCreate(String key, Snapshot value, long currentTime) {
+                        return value == MISSING ? negativeTtlNanos : ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Snapshot value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Snapshot value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        // cache.gets{result=hit|miss} 로 적중률을 본다.
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "user.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, byUsername, "user.by-username");
+    }
+
+    /**
+     * 캐시에 없으면 DB 에서 읽은 엔티티를 그대로 돌려준다.
+     */
+    public Optional<User> findByUsername(String username) {
+        String key = User.usernameKeyOf(username);
+        if (!enabled) {
+            return loadByUsername(key);
+        }
+        Snapshot cached = byUsername.getIfPresent(key);
+        if (cached != null) {
+            return cached == MISSING ? Optional.empty() : Optional.of(cached.toUser());
+        }
+
+        Optional<User> loaded = loadByUsername(key);
+        if (loaded.isPresent()) {
+            put(loaded.get());
+        } else if (negativeCaching) {
+            byUsername.put(key, MISSING);
+        }
+        return loaded;
+    }
+
+    public Optional<User> findById(Long userId) {
+        if (!enabled) {
+            return loadById(userId);
+        }
+        Snapshot cached = byId.getIfPresent(userId);
+        if (cached != null) {
+            return Optional.of(cached.toUser());
+        }
+
+        Optional<User> loaded = loadById(userId);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    /**
+     * 토큰을 발급하기 직전에 부른다. 다른 인스턴스의 권한 변경/로그아웃은 토큰 버전을 올리므로,
+     * 스냅샷의 버전이 현재 버전과 다르면 역할도 오래된 것으로 보고 primary 에서 다시 읽는다.
+     */
+    public Optional<User> refreshIfStale(User user, int currentTokenVersion) {
+        if (user.getTokenVersion() == currentTokenVersion) {
+            return Optional.of(user);
+        }
+        byId.invalidate(user.getId());
+        byUsername.invalidate(User.usernameKeyOf(user.getUsername()));
+        readYourWrites.markWritten(idKey(user.getId()));
+        Optional<User> loaded = loadById(user.getId());
+        if (enabled) {
+            loaded.ifPresent(this::put);
+        }
+        return loaded;
+    }
+
+    /**
+     * 권한, 토큰 버전, 비밀번호가 바뀐 사용자를 지운다. 트랜잭션 안에서 호출되면 커밋 이후에 지운다.
+     */
+    public void evict(User user) {
+        evict(user.getId(), user.getUsername());
+    }
+
+    public void evict(Long userId, String username) {
+        String key = User.usernameKeyOf(username);
+        afterCommit(() -> {
+            byId.invalidate(userId);
+            byUsername.invalidate(key);
+            readYourWrites.markWritten(idKey(userId));
+            readYourWrites.markWritten(usernameKey(key));
+        });
+    }
+
+    /**
+     * 새로 가입한 username 의 negative 항목을 지운다.
+     */
+    public void evictUsername(String username) {
+        String key = User.usernameKeyOf(username);
+        afterCommit(() -> {
+            byUsername.invalidate(key);
+            readYourWrites.markWritten(usernameKey(key));
+        });
+    }
+
+    private Optional<User> loadByUsername(String key) {
+        return readYourWrites.read(usernameKey(key), () -> userRepository.findByUsernameKey(key));
+    }
+
+    private Optional<User> loadById(Long userId) {
+        return readYourWrites.read(idKey(userId), () -> userRepository.findById(userId));
+    }
+
+    private static String usernameKey(String key) {
+        return "user:username:" + key;
+    }
+
+    private static String idKey(Long userId) {
+        return "user:id:" + userId;
+    }
+
+    private void put(User user) {
+        Snapshot snapshot = Snapshot.from(user);
+        byId.put(user.getId(), snapshot);
+        byUsername.put(User.usernameKeyOf(user.getUsername()), snapshot);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record Snapshot(Long id, String username, String usernameKey, String password, String nickname,
+                            UserRole role, int tokenVersion, long version) {
+
+        static Snapshot from(User user) {
+            return new Snapshot(user.getId(), user.getUsername(), user.getUsernameKey(), user.getPassword(),
+                    user.getNickname(), user.getRole(), user.getTokenVersion(), user.getVersion());
+        }
+
+        User toUser() {
+            return User.builder()
+                    .id(id)
+                    .username(username)
+                    .usernameKey(usernameKey)
+                    .password(password)
+                    .nickname(nickname)
+                    .role(role)
+                    .tokenVersion(tokenVersion)
+                    .version(version)
+                    .build();
+        }
+    }
+}
@@ -1,15 +1,25 @@
 package com.example.assignment.domain.user.service;
 
-import at.favre.lib.crypto.bcrypt.BCrypt;
 import com.example.assignment.config.JwtUtil;
+import com.example.assignment.domain.audit.enums.AuditEventType;
+import com.example.assignment.domain.audit.service.AuthAuditLog;
 import com.example.assignment.domain.user.dto.request.LoginRequest;
 import com.example.assignment.domain.user.dto.request.SignupRequest;
+import com.example.assignment.domain.user.dto.response.TokenResponse;
 import com.example.assignment.domain.user.dto.response.UserResponse;
 import com.example.assignment.domain.user.entity.User;
 import com.example.assignment.domain.user.enums.UserRole;
 import com.example.assignment.domain.user.repository.UserRepository;
+import com.example.assignment.global.exception.AdminRequiredException;
+import com.example.assignment.global.exception.InvalidCredentialsException;
+import com.example.assignment.global.exception.UserAlreadyExistsException;
+import com.example.assignment.global.exception.UserNotFoundException;
+import com.example.assignment.global.password.PasswordHasher;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -17,13 +27,15 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
+    private final UsernameBloomFilter usernameBloomFilter;
+    private final PasswordHasher passwordHasher;
+    private final TokenVersionStore tokenVersionStore;
+    private final RefreshTokenService refreshTokenService;
+    private final UserCache userCache;
+    private final AuthAuditLog authAuditLog;
 
     public UserResponse signup(SignupRequest request) {
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new IllegalArgumentException("이미 가입된 사용자입니다.");
-        }
-
-        String hashPw = BCrypt.withDefaults().hashToString(12, request.getPassword().toCharArray());
+        String hashPw = passwordHasher.hash(request.getPassword().toCharArray());
 
         User user = User.builder()
                 .username(request.getUsername())
@@ -32,30 +44,93 @@ public class UserService {
                 .role(UserRole.USER)
                 .build();
 
-        userRepository.save(user);
+        // 중복 조회 없이 INSERT 한 번으로 끝낸다. 같은(정규화한) username 의 동시 가입은 username_key 유니크 인덱스가 막는다.
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            if (!User.isUsernameConflict(e)) {
+                throw e;
+            }
+            throw new UserAlreadyExistsException();
+        }
+        usernameBloomFilter.add(user.getUsername());
+        userCache.evictUsername(user.getUsername());
+        authAuditLog.record(AuditEventType.SIGNUP, user.getId(), user.getUsername(), null);
         return UserResponse.from(user);
     }
 
-    public String login(LoginRequest request) {
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new IllegalArgumentException("아이디 또는 비밀번호가 올바르지 않습니다."));
+    public TokenResponse login(LoginRequest request) {
+        if (!usernameBloomFilter.mightContain(request.getUsername())) {
+            throw loginFailed(null, request.getUsername(), "UNKNOWN_USER");
+        }
+
+        User user = userCache.findByUsername(request.getUsername())
+                .orElseThrow(() -> loginFailed(null, request.getUsername(), "UNKNOWN_USER"));
+
+        if (!passwordHasher.verify(request.getPassword().toCharArray(), user.getPassword())) {
+            throw loginFailed(user.getId(), user.getUsername(), "BAD_PASSWORD");
+        }
 
-        if (!BCrypt.verifyer().verify(request.getPassword().toCharArray(), user.getPassword()).verified) {
-            throw new IllegalArgumentException("아이디 또는 비밀번호가 올바르지 않습니다.");
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            user.changePassword(passwordHasher.hash(request.getPassword().toCharArray()));
+            try {
+                userRepository.save(user);
+            } catch (OptimisticLockingFailureException e) {
+                // 그 사이 다른 요청이 사용자를 바꿨다. 재해싱은 다음 로그인으로 미룬다.
+            }
+            userCache.evict(user);
         }
 
-        return jwtUtil.createToken(user.getId(), user.getUsername(), user.getRole());
+        // 캐시의 역할/버전은 ttl 만큼 늦을 수 있어 현재 토큰 버전과 맞춰 본 뒤 발급한다.
+        User issuing = userCache.refreshIfStale(user, tokenVersionStore.currentVersion(user.getId()))
+                .orElseThrow(() -> loginFailed(user.getId(), user.getUsername(), "UNKNOWN_USER"));
+        int tokenVersion = tokenVersionStore.observe(issuing.getId(), issuing.getTokenVersion());
+        String accessToken = jwtUtil.createToken(issuing.getId(), issuing.getUsername(), issuing.getRole(), tokenVersion);
+        TokenResponse response = new TokenResponse(accessToken, refreshTokenService.issue(issuing.getId()));
+        authAuditLog.record(AuditEventType.LOGIN_SUCCESS, issuing.getId(), issuing.getUsername(), null);
+        return response;
+    }
+
+    // 응답은 사유와 관계없이 같고, 사유는 감사 로그에만 남긴다.
+    private InvalidCredentialsException loginFailed(Long userId, String username, String reason) {
+        authAuditLog.record(AuditEventType.LOGIN_FAILURE, userId, username, reason);
+        return new InvalidCredentialsException();
     }
 
+    @Transactional
     public UserResponse promoteToAdmin(Long userId, String role) {
         if (!"ADMIN".equals(role)) {
-            throw new IllegalArgumentException("관리자 권한이 필요한 요청입니다. 접근 권한이 없습니다.");
+            throw new AdminRequiredException();
         }
 
         User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+                .orElseThrow(UserNotFoundException::new);
 
         user.setRole(UserRole.ADMIN);
+        // 기존 토큰의 userRole 클레임이 더 이상 맞지 않으므로 폐기한다.
+        tokenVersionStore.update(user.getId(), user.increaseTokenVersion());
+        userCache.evict(user);
+        authAuditLog.record(AuditEventType.ROLE_CHANGE, user.getId(), user.getUsername(), UserRole.ADMIN.name());
         return UserResponse.from(user);
     }
+
+    // 사용자 샤드와 리프레시 토큰(기본 샤드)이 다른 DB 일 수 있어 한 트랜잭션으로 묶지 않는다.
+    public void logout(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(UserNotFoundException::new);
+
+        int tokenVersion = user.increaseTokenVersion();
+        userRepository.save(user);
+        tokenVersionStore.update(user.getId(), tokenVersion);
+        userCache.evict(user);
+        refreshTokenService.revokeAll(user.getId());
+    }
+
+    public void rebuildUsernameFilter(String role) {
+        if (!"ADMIN".equals(role)) {
+            throw new AdminRequiredException();
+        }
+
+        usernameBloomFilter.rebuild();
+    }
 }
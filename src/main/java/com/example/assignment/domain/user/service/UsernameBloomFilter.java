@@ -0,0 +1,228 @@
+package com.example.assignment.domain.user.service;
+
+import com.example.assignment.domain.user.entity.User;
+import com.example.assignment.domain.user.repository.UserRepository;
+import com.example.assignment.domain.user.repository.UserShards;
+import com.example.assignment.global.util.StringBloomFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * 가입된 username 의 Bloom 필터.
+ * "없음" 응답은 이 인스턴스가 아는 한 확정이므로 DB 조회를 생략할 수 있고, "있을 수 있음" 이면 기존대로 DB 를 조회한다.
+ * 워밍업 전에는 항상 "있을 수 있음" 을 반환한다.
+ * 로그인 조회, 가입의 중복 판단과 같은 정규화한 값({@link User#usernameKeyOf})을 넣고 찾는다.
+ * <p>
+ * 필터는 인스턴스마다 따로 있어 다른 인스턴스에서 가입한 사용자는 다음 재구성 전까지 들어 있지 않다.
+ * 그래서 trust-misses 가 false(기본)이면 "없음" 도 "있을 수 있음" 으로 돌려 DB 에서 확인하게 한다.
+ * 인스턴스가 하나일 때만 true 로 둔다.
+ * 조회 결과와 재구성 수는 user.username.filter{result=possible-hit|definite-miss|untrusted-miss} 로 내보낸다.
+ */
+@Slf4j
+@Component
+public class UsernameBloomFilter implements MeterBinder {
+
+    private final UserRepository userRepository;
+    private final UserShards userShards;
+    private final TransactionTemplate primaryTransaction;
+    private final boolean enabled;
+    private final double falsePositiveRate;
+    private final long expectedInsertions;
+    private final long maxBytes;
+    private final boolean trustMisses;
+
+    // synchronized 안에서 DB 를 스트리밍하면 가상 스레드가 캐리어에 고정되므로 Lock 을 쓴다.
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // 재구성한 필터로 바꾸는 순간과 add 가 엇갈려 버려질 필터에만 기록되지 않도록 막는다.
+    // add 끼리는 서로 막지 않는다.
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    private volatile StringBloomFilter current;
+    private volatile StringBloomFilter building;
+
+    private final LongAdder definiteMisses = new LongAdder();
+    private final LongAdder untrustedMisses = new LongAdder();
+    private final LongAdder possibleHits = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+
+    public UsernameBloomFilter(UserRepository userRepository,
+                               UserShards userShards,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${user.username-filter.enabled:true}") boolean enabled,
+                               @Value("${user.username-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${user.username-filter.expected-insertions:1000000}") long expectedInsertions,
+                               @Value("${user.username-filter.max-bytes:67108864}") long maxBytes,
+                               @Value("${user.username-filter.trust-misses:false}") boolean trustMisses) {
+        this.userRepository = userRepository;
+        this.userShards = userShards;
+        // 읽기 전용 트랜잭션은 replica 로 가므로 (ReadWriteRoutingDataSource) 복제 지연으로 최근 가입자가 빠지지 않도록 primary 에서 읽는다.
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.falsePositiveRate = falsePositiveRate;
+        this.expectedInsertions = expectedInsertions;
+        this.maxBytes = maxBytes;
+        this.trustMisses = trustMisses;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        counter(meterRegistry, possibleHits, "possible-hit");
+        counter(meterRegistry, definiteMisses, "definite-miss");
+        counter(meterRegistry, untrustedMisses, "untrusted-miss");
+        FunctionCounter.builder("user.username.filter.rebuilds", rebuilds, LongAdder::sum)
+                .description("username 필터 재구성 수")
+                .register(meterRegistry);
+        Gauge.builder("user.username.filter.entries", this, UsernameBloomFilter::getEntryCount)
+                .description("username 필터에 넣은 값 수")
+                .register(meterRegistry);
+        Gauge.builder("user.username.filter.false-positive-rate", this, UsernameBloomFilter::getExpectedFalsePositiveRate)
+                .description("현재 크기에서 예상되는 오탐률")
+                .register(meterRegistry);
+    }
+
+    private static void counter(MeterRegistry meterRegistry, LongAdder adder, String result) {
+        FunctionCounter.builder("user.username.filter", adder, LongAdder::sum)
+                .description("username 필터 조회 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public boolean mightContain(String username) {
+        StringBloomFilter filter = current;
+        if (filter == null || username == null) {
+            return true;
+        }
+        if (filter.mightContain(User.usernameKeyOf(username))) {
+            possibleHits.increment();
+            return true;
+        }
+        if (!trustMisses) {
+            untrustedMisses.increment();
+            return true;
+        }
+        definiteMisses.increment();
+        return false;
+    }
+
+    public void add(String username) {
+        String key = User.usernameKeyOf(username);
+        swapLock.readLock().lock();
+        try {
+            StringBloomFilter filter = current;
+            if (filter != null) {
+                filter.put(key);
+            }
+            StringBloomFilter next = building;
+            if (next != null) {
+                next.put(key);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * user 테이블을 (샤드가 여럿이면 샤드마다) 스트리밍하며 새 필터를 만든 뒤 교체한다.
+     * 재구성 중 가입한 사용자는 기존 필터와 새 필터 모두에 기록된다.
+     */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            doRebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void doRebuild() {
+        long started = System.currentTimeMillis();
+        long expected = Math.max(expectedInsertions, userRepository.count() * 2);
+        StringBloomFilter next = StringBloomFilter.create(expected, falsePositiveRate, maxBytes);
+        building = next;
+        try {
+            userShards.forEachShard(shard -> primaryTransaction.executeWithoutResult(status -> {
+                try (Stream<String> usernames = userRepository.streamAllUsernames()) {
+                    usernames.forEach(username -> next.put(User.usernameKeyOf(username)));
+                }
+            }));
+            swap(next);
+            rebuilds.increment();
+        } finally {
+            building = null;
+        }
+
+        log.info("username filter rebuilt: entries={}, bits={}, hashes={}, expectedFpp={}, {}ms",
+                next.getInsertions(), next.getBitSize(), next.getHashFunctions(),
+                String.format("%.5f", next.expectedFalsePositiveRate()), System.currentTimeMillis() - started);
+        if (next.expectedFalsePositiveRate() > falsePositiveRate) {
+            log.warn("username filter is capped at {} bytes; false-positive rate exceeds the configured {}",
+                    maxBytes, falsePositiveRate);
+        }
+    }
+
+    private void swap(StringBloomFilter next) {
+        swapLock.writeLock().lock();
+        try {
+            current = next;
+            building = null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    public long getDefiniteMissCount() {
+        return definiteMisses.sum();
+    }
+
+    public long getUntrustedMissCount() {
+        return untrustedMisses.sum();
+    }
+
+    public long getPossibleHitCount() {
+        return possibleHits.sum();
+    }
+
+    public long getRebuildCount() {
+        return rebuilds.sum();
+    }
+
+    public long getEntryCount() {
+        StringBloomFilter filter = current;
+        return filter != null ? filter.getInsertions() : 0;
+    }
+
+    public long getSizeInBytes() {
+        StringBloomFilter filter = current;
+        return filter != null ? filter.getSizeInBytes() : 0;
+    }
+
+    public double getExpectedFalsePositiveRate() {
+        StringBloomFilter filter = current;
+        return filter != null ? filter.expectedFalsePositiveRate() : 1.0;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.assignment.global.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 읽기 전용 트랜잭션은 replica 로, 나머지(쓰기 트랜잭션, 트랜잭션 밖의 쿼리)는 primary 로 보낸다.
+ * <p>
+ * 트랜잭션을 시작할 때는 아직 읽기 전용 여부가 동기화되지 않으므로 {@link #create} 가 LazyConnectionDataSourceProxy 로 감싸
+ * 첫 쿼리를 실행하는 시점에 커넥션을 고르게 한다.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    public static DataSource create(DataSource primary, DataSource replica) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+        routing.setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Target.REPLICA : Target.PRIMARY;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.assignment.global.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 복제 지연 때문에 방금 쓴 데이터를 replica 에서 못 읽는 일을 막는다.
+ * 쓴 키는 window(복제 지연 상한) 동안 기억하고, 그 키의 조회는 쓰기 트랜잭션으로 감싸 primary 에서 읽는다.
+ */
+@Component
+public class ReadYourWrites {
+
+    private final boolean enabled;
+    private final TransactionTemplate primaryRead;
+    private final Cache<String, Boolean> recentWrites;
+
+    public ReadYourWrites(PlatformTransactionManager transactionManager,
+                          @Value("${datasource.replica.enabled:false}") boolean enabled,
+                          @Value("${datasource.replica.read-your-writes-window:5s}") Duration window) {
+        this.enabled = enabled;
+        this.primaryRead = new TransactionTemplate(transactionManager);
+        this.recentWrites = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * 커밋된 뒤에 호출한다.
+     */
+    public void markWritten(String key) {
+        if (enabled) {
+            recentWrites.put(key, Boolean.TRUE);
+        }
+    }
+
+    public <T> T read(String key, Supplier<T> query) {
+        if (!enabled || recentWrites.getIfPresent(key) == null) {
+            return query.get();
+        }
+        // 안쪽의 readOnly 트랜잭션은 이 트랜잭션에 참여하므로 primary 로 간다.
+        return primaryRead.execute(status -> query.get());
+    }
+}
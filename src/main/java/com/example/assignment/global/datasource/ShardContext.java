@@ -0,0 +1,45 @@
+package com.example.assignment.global.datasource;
+
+import java.util.function.IntConsumer;
+
+/**
+ * 현재 스레드가 사용할 샤드 번호. 묶지 않으면 기본 샤드(0)로 간다 ({@link ShardRoutingDataSource}).
+ * 트랜잭션 안이라면 첫 쿼리 전에 묶어야 그 샤드의 커넥션이 잡힌다.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return 이전 값. {@link #restore} 로 되돌린다.
+     */
+    public static Integer bind(int shard) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    public static void restore(Integer previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    public static void run(int shard, IntConsumer action) {
+        Integer previous = bind(shard);
+        try {
+            action.accept(shard);
+        } finally {
+            restore(previous);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.assignment.global.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ShardContext} 의 샤드로 커넥션을 보낸다. 묶인 샤드가 없으면 기본 샤드(0)로 간다.
+ * 사용자 외의 테이블(리프레시 토큰, 서명 키, 감사 로그)은 기본 샤드에만 있다.
+ * <p>
+ * 트랜잭션 안에서 커넥션을 잡으면 그 샤드를 트랜잭션 리소스로 기록해 둔다 ({@link #currentTransactionShard}).
+ * 커넥션은 트랜잭션이 끝날 때까지 같은 샤드에 묶이므로, 다른 샤드를 써야 하는 호출은 이 값으로 알아낸다.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final int HOME_SHARD = 0;
+
+    private static final Object TRANSACTION_SHARD = new Object();
+
+    /**
+     * @param shards 0번이 기본 샤드
+     */
+    public static DataSource create(List<? extends DataSource> shards) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            targets.put(i, shards.get(i));
+        }
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(shards.get(HOME_SHARD));
+        // 없는 샤드 번호를 기본 샤드로 보내면 다른 사용자의 데이터를 읽게 되므로 실패시킨다.
+        routing.setLenientFallback(false);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * 현재 트랜잭션이 커넥션을 잡은 샤드. 트랜잭션 밖이거나 아직 쿼리를 실행하지 않았으면 null.
+     */
+    public static Integer currentTransactionShard() {
+        return (Integer) TransactionSynchronizationManager.getResource(TRANSACTION_SHARD);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer bound = ShardContext.current();
+        int shard = bound != null ? bound : HOME_SHARD;
+        if (TransactionSynchronizationManager.isSynchronizationActive() && currentTransactionShard() == null) {
+            TransactionSynchronizationManager.bindResource(TRANSACTION_SHARD, shard);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionShard(shard));
+        }
+        return shard;
+    }
+
+    // REQUIRES_NEW 로 안쪽 트랜잭션이 열리는 동안에는 바깥 트랜잭션의 샤드를 숨긴다.
+    private record TransactionShard(int shard) implements TransactionSynchronization {
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_SHARD);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(TRANSACTION_SHARD, shard);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_SHARD);
+        }
+    }
+}
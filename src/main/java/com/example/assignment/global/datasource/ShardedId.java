@@ -0,0 +1,21 @@
+package com.example.assignment.global.datasource;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * {@link ShardedSequenceGenerator} 로 id 를 만든다. 시퀀스 이름과 할당 블록 크기는 기존 pooled 시퀀스 설정과 같다.
+ */
+@IdGeneratorType(ShardedSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface ShardedId {
+
+    String sequenceName();
+
+    int incrementSize() default 50;
+}
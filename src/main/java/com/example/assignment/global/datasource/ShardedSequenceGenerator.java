@@ -0,0 +1,63 @@
+package com.example.assignment.global.datasource;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.OptimizerFactory;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 샤드마다 자기 시퀀스에서 값을 받고, 하위 {@link #SHARD_BITS} 비트에 샤드 번호를 넣은 id 를 만든다.
+ * id 만 보고 샤드를 알 수 있으므로 findById 를 한 샤드로 바로 보낼 수 있다.
+ * <p>
+ * 시퀀스 값은 샤드 안에서만 유일하므로 할당 블록(pooled)도 샤드별로 따로 둔다.
+ * {@link ShardContext} 가 묶여 있지 않으면(샤딩을 끈 경우) 기존 시퀀스 값을 그대로 쓴다. 엔티티에는 {@link ShardedId} 로 붙인다.
+ */
+public class ShardedSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final int SHARD_BITS = 6;
+    public static final int MAX_SHARDS = 1 << SHARD_BITS;
+
+    private final ShardedId config;
+    private final ConcurrentMap<Integer, Optimizer> shardOptimizers = new ConcurrentHashMap<>();
+
+    public ShardedSequenceGenerator(ShardedId config) {
+        this.config = config;
+    }
+
+    public static long encode(long value, int shard) {
+        return value << SHARD_BITS | shard;
+    }
+
+    public static int shardOf(long id) {
+        return (int) (id & (MAX_SHARDS - 1));
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        parameters.setProperty(SEQUENCE_PARAM, config.sequenceName());
+        parameters.setProperty(INCREMENT_PARAM, String.valueOf(config.incrementSize()));
+        super.configure(type, parameters, serviceRegistry);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        Integer shard = ShardContext.current();
+        if (shard == null) {
+            return super.generate(session, object);
+        }
+        // 세션의 커넥션이 이미 이 샤드에 있으므로 시퀀스도 이 샤드에서 읽는다.
+        Optimizer optimizer = shardOptimizers.computeIfAbsent(shard, key -> OptimizerFactory.buildOptimizer(
+                StandardOptimizerDescriptor.POOLED, Long.class,
+                getOptimizer().getIncrementSize(), getDatabaseStructure().getInitialValue()));
+        long value = ((Number) optimizer.generate(getDatabaseStructure().buildCallback(session))).longValue();
+        return encode(value, shard);
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.assignment.global.datasource;
+
+import com.example.assignment.global.util.MpscRingBuffer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * JDBC 문장 실행 시간 기록 (show-sql 대체). datasource-proxy 가 실행 전후로 호출한다.
+ * <p>
+ * 모든 문장은 db.statement 타이머(operation, table 태그)에 기록하고, 로그는 slow-threshold 를 넘은 문장과
+ * sample-rate 확률로 뽑은 문장만 남긴다. 로그 한 줄은 링 버퍼에 넣기만 하고 statement-log-writer 스레드가 쓴다.
+ * 호출 위치는 로그로 남길 문장에서만 스택을 훑어 찾는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "db.statement-log.enabled", havingValue = "true")
+public class StatementLog implements QueryExecutionListener {
+
+    private static final String APP_PACKAGE = "com.example.assignment.";
+    // 라우팅 계층은 호출 위치로 의미가 없으므로 건너뛴다.
+    private static final String[] SKIPPED_PACKAGES = {
+            APP_PACKAGE + "global.datasource.", APP_PACKAGE + "domain.user.repository."
+    };
+    private static final Pattern TABLE = Pattern.compile("\\b(?:from|into|update)\\s+[`\"]?(\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final int MAX_TIMERS = 1000;
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final long flushIntervalNanos;
+    private final MeterRegistry meterRegistry;
+    private final MpscRingBuffer<Entry> buffer;
+    // 같은 SQL 문자열의 타이머를 다시 찾지 않도록 보관한다. IN 절 길이마다 SQL 이 달라지므로 크기를 제한한다.
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    // 상한을 넘은 뒤 처음 보는 SQL 은 정규화, 등록 없이 이 타이머에 기록한다.
+    private final Timer overflow;
+    private final ThreadLocal<long[]> startedAt = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final LongAdder slow = new LongAdder();
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public StatementLog(@Value("${db.statement-log.slow-threshold:200ms}") Duration slowThreshold,
+                        @Value("${db.statement-log.sample-rate:0.001}") double sampleRate,
+                        @Value("${db.statement-log.buffer-size:4096}") int bufferSize,
+                        @Value("${db.statement-log.flush-interval:100ms}") Duration flushInterval,
+                        MeterRegistry meterRegistry) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.meterRegistry = meterRegistry;
+        this.buffer = new MpscRingBuffer<>(bufferSize);
+        this.overflow = timer(meterRegistry, "other", "overflow");
+
+        counter(meterRegistry, slow, "slow");
+        counter(meterRegistry, sampled, "sampled");
+        counter(meterRegistry, dropped, "dropped");
+    }
+
+    private static void counter(MeterRegistry meterRegistry, LongAdder adder, String result) {
+        FunctionCounter.builder("db.statement.log", adder, LongAdder::sum)
+                .description("로그로 남긴(또는 버퍼가 가득 차 버린) 문장 수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::run, "statement-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("statement log: slowThreshold={}ms, sampleRate={}",
+                TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos), sampleRate);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        startedAt.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = System.nanoTime() - startedAt.get()[0];
+        if (queryInfoList.isEmpty()) {
+            return;
+        }
+        String sql = queryInfoList.get(0).getQuery();
+        timer(sql).record(elapsed, TimeUnit.NANOSECONDS);
+
+        boolean isSlow = elapsed >= slowThresholdNanos;
+        if (!isSlow && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        Entry entry = new Entry(isSlow, sql, elapsed, bindCount(queryInfoList.get(0)),
+                execInfo.isBatch() ? execInfo.getBatchSize() : 0, execInfo.isSuccess(), caller());
+        if (!buffer.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * 버퍼에 쌓인 로그를 모두 쓴다. 쓰기 스레드(또는 종료 시) 한 곳에서만 호출한다.
+     */
+    public int flush() {
+        return buffer.drain(this::write, Integer.MAX_VALUE);
+    }
+
+    private void write(Entry entry) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(entry.elapsedNanos());
+        if (entry.slow()) {
+            slow.increment();
+            log.warn("slow statement {}us binds={} batch={} success={} caller={} sql={}",
+                    micros, entry.binds(), entry.batchSize(), entry.success(), entry.caller(), entry.sql());
+        } else {
+            sampled.increment();
+            log.info("sampled statement {}us binds={} batch={} success={} caller={} sql={}",
+                    micros, entry.binds(), entry.batchSize(), entry.success(), entry.caller(), entry.sql());
+        }
+    }
+
+    private void run() {
+        while (running) {
+            if (flush() == 0) {
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        flush();
+    }
+
+    private Timer timer(String sql) {
+        Timer timer = timers.get(sql);
+        if (timer != null) {
+            return timer;
+        }
+        if (timers.size() >= MAX_TIMERS) {
+            return overflow;
+        }
+        // 같은 SQL 을 여러 스레드가 처음 보더라도 정규화와 등록은 한 번만 한다.
+        return timers.computeIfAbsent(sql, this::register);
+    }
+
+    private Timer register(String sql) {
+        Matcher matcher = TABLE.matcher(sql);
+        String table = matcher.find() ? matcher.group(1).toLowerCase(Locale.ROOT) : "none";
+        return timer(meterRegistry, operationOf(sql), table);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operation, String table) {
+        return Timer.builder("db.statement")
+                .description("JDBC 문장 실행 시간")
+                .tag("operation", operation)
+                .tag("table", table)
+                .register(meterRegistry);
+    }
+
+    private static String operationOf(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        String keyword = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "insert", "update", "delete", "merge", "call" -> keyword;
+            default -> "other";
+        };
+    }
+
+    private static int bindCount(QueryInfo queryInfo) {
+        return queryInfo.getParametersList().isEmpty() ? 0 : queryInfo.getParametersList().get(0).size();
+    }
+
+    private static String caller() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> isApplicationFrame(frame.getClassName()))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse("unknown"));
+    }
+
+    private static boolean isApplicationFrame(String className) {
+        if (!className.startsWith(APP_PACKAGE) || className.contains("$$")) {
+            return false;
+        }
+        for (String skipped : SKIPPED_PACKAGES) {
+            if (className.startsWith(skipped)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getSlowCount() {
+        return slow.sum();
+    }
+
+    public long getSampledCount() {
+        return sampled.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private record Entry(boolean slow, String sql, long elapsedNanos, int binds, int batchSize, boolean success,
+                         String caller) {
+    }
+}
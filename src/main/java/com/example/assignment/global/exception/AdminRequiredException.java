@@ -0,0 +1,8 @@
+package com.example.assignment.global.exception;
+
+public class AdminRequiredException extends AuthException {
+
+    public AdminRequiredException() {
+        super(ErrorCode.ACCESS_DENIED);
+    }
+}
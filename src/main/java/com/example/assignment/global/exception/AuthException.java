@@ -0,0 +1,25 @@
+package com.example.assignment.global.exception;
+
+import lombok.Getter;
+
+/**
+ * 인증/인가 과정에서 예상되는 실패. 응답은 {@link ErrorCode} 로 정해진다.
+ * <p>
+ * 기존 호출자가 IllegalArgumentException 으로 처리하던 흐름을 유지하도록 그 하위 타입으로 둔다.
+ * 로그인 실패처럼 자주 발생하는 정상 흐름이므로 스택 트레이스를 채우지 않는다.
+ */
+@Getter
+public class AuthException extends IllegalArgumentException {
+
+    private final ErrorCode errorCode;
+
+    public AuthException(ErrorCode errorCode) {
+        super(errorCode.getMessage());
+        this.errorCode = errorCode;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.assignment.global.exception;
+
+import com.example.assignment.global.dto.response.ErrorResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+
+/**
+ * 오류 응답 코드. 응답 본문은 코드마다 한 번만 직렬화해 두고 그대로 쓴다.
+ */
+@Getter
+public enum ErrorCode {
+
+    BAD_REQUEST(HttpStatus.BAD_REQUEST, "잘못된 요청입니다."),
+    USER_ALREADY_EXISTS(HttpStatus.BAD_REQUEST, "이미 가입된 사용자입니다."),
+    INVALID_CREDENTIALS(HttpStatus.UNAUTHORIZED, "아이디 또는 비밀번호가 올바르지 않습니다."),
+    ACCESS_DENIED(HttpStatus.FORBIDDEN, "관리자 권한이 필요한 요청입니다. 접근 권한이 없습니다."),
+    USER_NOT_FOUND(HttpStatus.BAD_REQUEST, "사용자를 찾을 수 없습니다."),
+    INVALID_REFRESH_TOKEN(HttpStatus.BAD_REQUEST, "유효하지 않은 리프레시 토큰입니다."),
+    CONFLICT(HttpStatus.CONFLICT, "다른 요청이 먼저 사용자 정보를 변경했습니다. 다시 시도해 주세요."),
+    MISSING_TOKEN(HttpStatus.BAD_REQUEST, "JWT 토큰이 필요합니다."),
+    INVALID_TOKEN(HttpStatus.UNAUTHORIZED, "유효하지 않은 JWT 토큰입니다."),
+    TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS, "요청이 너무 많습니다. 잠시 후 다시 시도해 주세요."),
+    SERVER_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+
+    private final HttpStatus status;
+    private final String message;
+    private final ErrorResponse body;
+    private byte[] json;
+
+    static {
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (ErrorCode code : values()) {
+            try {
+                code.json = objectMapper.writeValueAsBytes(code.body);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    ErrorCode(HttpStatus status, String message) {
+        this.status = status;
+        this.message = message;
+        this.body = ErrorResponse.of(name(), message);
+    }
+
+    /**
+     * 컨트롤러 밖(서블릿 필터)에서 같은 본문으로 응답한다.
+     */
+    public void writeTo(HttpServletResponse response) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(json.length);
+        response.getOutputStream().write(json);
+    }
+}
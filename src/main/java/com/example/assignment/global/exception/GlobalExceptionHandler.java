@@ -2,29 +2,98 @@ package com.example.assignment.global.exception;
 
 
 import com.example.assignment.global.dto.response.ErrorResponse;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    public GlobalExceptionHandler() {
+        this(Metrics.globalRegistry);
+    }
+
+    @Autowired
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @ExceptionHandler(AuthException.class)
+    public ResponseEntity<byte[]> handleAuth(AuthException e) {
+        return respond(e.getErrorCode(), null);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException e) {
-        return switch (e.getMessage()) {
-            case "이미 가입된 사용자입니다." -> ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(ErrorResponse.of("USER_ALREADY_EXISTS", e.getMessage()));
-            case "아이디 또는 비밀번호가 올바르지 않습니다." -> ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(ErrorResponse.of("INVALID_CREDENTIALS", e.getMessage()));
-            case "관리자 권한이 필요한 요청입니다. 접근 권한이 없습니다." -> ResponseEntity.status(HttpStatus.FORBIDDEN)
-                    .body(ErrorResponse.of("ACCESS_DENIED", e.getMessage()));
-            case "사용자를 찾을 수 없습니다." -> ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(ErrorResponse.of("USER_NOT_FOUND", e.getMessage()));
-            default -> ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(ErrorResponse.of("BAD_REQUEST", e.getMessage()));
-        };
+        count(ErrorCode.BAD_REQUEST.name());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ErrorResponse.of(ErrorCode.BAD_REQUEST.name(), e.getMessage()));
+    }
+
+    // @Valid 요청 검증 실패. 비어 있는 필드를 메시지로 알려 준다.
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequest(MethodArgumentNotValidException e) {
+        count(ErrorCode.BAD_REQUEST.name());
+        String message = e.getBindingResult().getFieldErrors().stream()
+                .findFirst()
+                .map(error -> error.getField() + ("NotBlank".equals(error.getCode()) ? " 값이 필요합니다." : " 값이 올바르지 않습니다."))
+                .orElse(ErrorCode.BAD_REQUEST.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ErrorResponse.of(ErrorCode.BAD_REQUEST.name(), message));
+    }
+
+    // @Version 충돌. 엔티티 수정과 일괄 역할 변경이 겹친 경우.
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<byte[]> handleOptimisticLock(OptimisticLockingFailureException e) {
+        return respond(ErrorCode.CONFLICT, null);
+    }
+
+    @ExceptionHandler(ServerBusyException.class)
+    public ResponseEntity<byte[]> handleServerBusy(ServerBusyException e) {
+        return respond(ErrorCode.SERVER_BUSY, e.getRetryAfterSeconds());
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<byte[]> handleTooManyRequests(TooManyRequestsException e) {
+        return respond(ErrorCode.TOO_MANY_REQUESTS, e.getRetryAfterSeconds());
+    }
+
+    /**
+     * 미리 직렬화한 본문을 그대로 돌려준다.
+     */
+    private ResponseEntity<byte[]> respond(ErrorCode code, Long retryAfterSeconds) {
+        count(code.name());
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(code.getStatus())
+                .contentType(MediaType.APPLICATION_JSON);
+        if (retryAfterSeconds != null) {
+            builder.header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        }
+        return builder.body(code.getJson());
+    }
+
+    /**
+     * 응답 코드별 auth.errors 카운터를 올린다.
+     */
+    private void count(String code) {
+        errorCounters.computeIfAbsent(code, c -> Counter.builder("auth.errors")
+                        .description("GlobalExceptionHandler 오류 응답 수")
+                        .tag("code", c)
+                        .register(meterRegistry))
+                .increment();
     }
 }
\ No newline at end of file
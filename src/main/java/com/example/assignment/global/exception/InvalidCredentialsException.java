@@ -0,0 +1,8 @@
+package com.example.assignment.global.exception;
+
+public class InvalidCredentialsException extends AuthException {
+
+    public InvalidCredentialsException() {
+        super(ErrorCode.INVALID_CREDENTIALS);
+    }
+}
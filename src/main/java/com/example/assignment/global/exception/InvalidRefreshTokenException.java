@@ -0,0 +1,8 @@
+package com.example.assignment.global.exception;
+
+public class InvalidRefreshTokenException extends AuthException {
+
+    public InvalidRefreshTokenException() {
+        super(ErrorCode.INVALID_REFRESH_TOKEN);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.assignment.global.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ServerBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServerBusyException(long retryAfterSeconds) {
+        // 과부하 시 대량으로 발생하므로 스택 트레이스를 채우지 않는다.
+        super(ErrorCode.SERVER_BUSY.getMessage(), null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
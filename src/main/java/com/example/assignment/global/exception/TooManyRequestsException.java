@@ -0,0 +1,15 @@
+package com.example.assignment.global.exception;
+
+import lombok.Getter;
+
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(long retryAfterSeconds) {
+        // 거절은 정상 흐름이므로 스택 트레이스를 채우지 않는다.
+        super(ErrorCode.TOO_MANY_REQUESTS.getMessage(), null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.assignment.global.exception;
+
+public class UserAlreadyExistsException extends AuthException {
+
+    public UserAlreadyExistsException() {
+        super(ErrorCode.USER_ALREADY_EXISTS);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.assignment.global.exception;
+
+public class UserNotFoundException extends AuthException {
+
+    public UserNotFoundException() {
+        super(ErrorCode.USER_NOT_FOUND);
+    }
+}
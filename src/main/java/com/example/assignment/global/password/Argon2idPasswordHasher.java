@@ -0,0 +1,127 @@
+package com.example.assignment.global.password;
+
+import lombok.Getter;
+import org.bouncycastle.crypto.generators.Argon2BytesGenerator;
+import org.bouncycastle.crypto.params.Argon2Parameters;
+
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * PHC 문자열 형식({@code $argon2id$v=19$m=..,t=..,p=..$salt$hash})의 Argon2id 해시.
+ */
+@Getter
+public class Argon2idPasswordHasher implements PasswordHasher {
+
+    private static final String PREFIX = "$argon2id$";
+    private static final int SALT_LENGTH = 16;
+    private static final int HASH_LENGTH = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final int memoryKib;
+    private final int iterations;
+    private final int parallelism;
+
+    public Argon2idPasswordHasher(int memoryKib, int iterations, int parallelism) {
+        this.memoryKib = memoryKib;
+        this.iterations = iterations;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public String hash(char[] password) {
+        byte[] salt = new byte[SALT_LENGTH];
+        RANDOM.nextBytes(salt);
+        byte[] hash = derive(password, salt, memoryKib, iterations, parallelism, HASH_LENGTH);
+
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + "v=19$m=" + memoryKib + ",t=" + iterations + ",p=" + parallelism
+                + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+    }
+
+    @Override
+    public boolean verify(char[] password, String hash) {
+        Parsed parsed = Parsed.of(hash);
+        if (parsed == null) {
+            return false;
+        }
+        byte[] actual = derive(password, parsed.salt, parsed.memoryKib, parsed.iterations, parsed.parallelism,
+                parsed.hash.length);
+        return MessageDigest.isEqual(actual, parsed.hash);
+    }
+
+    @Override
+    public boolean supports(String hash) {
+        return hash != null && hash.startsWith(PREFIX);
+    }
+
+    /**
+     * 모든 파라미터가 설정 이하이고 하나라도 낮을 때만 재해싱한다.
+     * 어느 하나라도 설정보다 높으면 설정값으로 다시 만든 해시가 그 항목에서 약해지므로 그대로 둔다.
+     */
+    @Override
+    public boolean needsRehash(String hash) {
+        Parsed parsed = Parsed.of(hash);
+        if (parsed == null) {
+            return true;
+        }
+        boolean notStronger = parsed.memoryKib <= memoryKib
+                && parsed.iterations <= iterations
+                && parsed.parallelism <= parallelism;
+        boolean weaker = parsed.memoryKib < memoryKib
+                || parsed.iterations < iterations
+                || parsed.parallelism < parallelism;
+        return notStronger && weaker;
+    }
+
+    private static byte[] derive(char[] password, byte[] salt, int memoryKib, int iterations, int parallelism,
+                                 int length) {
+        Argon2Parameters parameters = new Argon2Parameters.Builder(Argon2Parameters.ARGON2_id)
+                .withVersion(Argon2Parameters.ARGON2_VERSION_13)
+                .withMemoryAsKB(memoryKib)
+                .withIterations(iterations)
+                .withParallelism(parallelism)
+                .withSalt(salt)
+                .build();
+        Argon2BytesGenerator generator = new Argon2BytesGenerator();
+        generator.init(parameters);
+        byte[] out = new byte[length];
+        generator.generateBytes(password, out);
+        return out;
+    }
+
+    private record Parsed(int memoryKib, int iterations, int parallelism, byte[] salt, byte[] hash) {
+
+        static Parsed of(String encoded) {
+            if (encoded == null || !encoded.startsWith(PREFIX)) {
+                return null;
+            }
+            // ["", "argon2id", "v=19", "m=..,t=..,p=..", salt, hash]
+            String[] parts = encoded.split("\\$");
+            if (parts.length != 6 || !"v=19".equals(parts[2])) {
+                return null;
+            }
+            try {
+                int memory = 0;
+                int time = 0;
+                int lanes = 0;
+                for (String param : parts[3].split(",")) {
+                    int value = Integer.parseInt(param.substring(2));
+                    switch (param.charAt(0)) {
+                        case 'm' -> memory = value;
+                        case 't' -> time = value;
+                        case 'p' -> lanes = value;
+                        default -> {
+                            return null;
+                        }
+                    }
+                }
+                Base64.Decoder decoder = Base64.getDecoder();
+                return new Parsed(memory, time, lanes, decoder.decode(parts[4]), decoder.decode(parts[5]));
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+    }
+}
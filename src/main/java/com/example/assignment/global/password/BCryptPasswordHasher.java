@@ -0,0 +1,39 @@
+package com.example.assignment.global.password;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import lombok.Getter;
+
+@Getter
+public class BCryptPasswordHasher implements PasswordHasher {
+
+    private final int cost;
+
+    public BCryptPasswordHasher(int cost) {
+        this.cost = cost;
+    }
+
+    @Override
+    public String hash(char[] password) {
+        return BCrypt.withDefaults().hashToString(cost, password);
+    }
+
+    @Override
+    public boolean verify(char[] password, String hash) {
+        return BCrypt.verifyer().verify(password, hash).verified;
+    }
+
+    @Override
+    public boolean supports(String hash) {
+        return hash != null && hash.length() > 7 && hash.startsWith("$2") && hash.charAt(3) == '$';
+    }
+
+    @Override
+    public boolean needsRehash(String hash) {
+        // $2a$12$... 형식에서 cost 부분. 설정보다 낮을 때만 재해싱하고, 높은 비용의 해시는 낮추지 않는다.
+        try {
+            return Integer.parseInt(hash.substring(4, 6)) < cost;
+        } catch (RuntimeException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.assignment.global.password;
+
+import java.util.List;
+
+/**
+ * 새 해시는 기본 구현으로 만들고, 검증은 해시 형식에 맞는 구현에 맡긴다.
+ * 기본 구현과 형식이 다르거나 파라미터가 설정보다 약한 해시는 재해싱 대상이다.
+ */
+public class DelegatingPasswordHasher implements PasswordHasher {
+
+    private final PasswordHasher primary;
+    private final List<PasswordHasher> hashers;
+
+    public DelegatingPasswordHasher(PasswordHasher primary, List<PasswordHasher> hashers) {
+        this.primary = primary;
+        this.hashers = hashers;
+    }
+
+    @Override
+    public String hash(char[] password) {
+        return primary.hash(password);
+    }
+
+    @Override
+    public boolean verify(char[] password, String hash) {
+        for (PasswordHasher hasher : hashers) {
+            if (hasher.supports(hash)) {
+                return hasher.verify(password, hash);
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean supports(String hash) {
+        return hashers.stream().anyMatch(hasher -> hasher.supports(hash));
+    }
+
+    @Override
+    public boolean needsRehash(String hash) {
+        return !primary.supports(hash) || primary.needsRehash(hash);
+    }
+
+    public PasswordHasher getPrimary() {
+        return primary;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.assignment.global.password;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 해싱/검증 시간을 auth.password.hash, auth.password.verify 타이머로 기록한다.
+ */
+public class MeteredPasswordHasher implements PasswordHasher {
+
+    private final PasswordHasher delegate;
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+
+    public MeteredPasswordHasher(PasswordHasher delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.hashTimer = Timer.builder("auth.password.hash")
+                .description("비밀번호 해싱 시간")
+                .register(registry);
+        this.verifyTimer = Timer.builder("auth.password.verify")
+                .description("비밀번호 검증 시간")
+                .register(registry);
+    }
+
+    @Override
+    public String hash(char[] password) {
+        long started = System.nanoTime();
+        try {
+            return delegate.hash(password);
+        } finally {
+            hashTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public boolean verify(char[] password, String hash) {
+        long started = System.nanoTime();
+        try {
+            return delegate.verify(password, hash);
+        } finally {
+            verifyTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public boolean supports(String hash) {
+        return delegate.supports(hash);
+    }
+
+    @Override
+    public boolean needsRehash(String hash) {
+        return delegate.needsRehash(hash);
+    }
+}
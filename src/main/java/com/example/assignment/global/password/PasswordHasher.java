@@ -0,0 +1,18 @@
+package com.example.assignment.global.password;
+
+public interface PasswordHasher {
+
+    String hash(char[] password);
+
+    boolean verify(char[] password, String hash);
+
+    /**
+     * 이 구현이 만든 형식의 해시인지 여부.
+     */
+    boolean supports(String hash);
+
+    /**
+     * 현재 설정보다 약한 파라미터로 만들어진 해시인지 여부. 설정이 낮아져도 기존 해시를 약하게 다시 만들지 않는다.
+     */
+    boolean needsRehash(String hash);
+}
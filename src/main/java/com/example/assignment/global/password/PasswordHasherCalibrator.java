@@ -0,0 +1,65 @@
+package com.example.assignment.global.password;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+/**
+ * 현재 하드웨어에서 목표 지연 시간을 넘지 않는 가장 강한 파라미터를 찾는다.
+ */
+@Slf4j
+public final class PasswordHasherCalibrator {
+
+    private static final char[] SAMPLE_PASSWORD = "calibration-password".toCharArray();
+    private static final int SAMPLES = 3;
+
+    private PasswordHasherCalibrator() {
+    }
+
+    public static BCryptPasswordHasher calibrateBCrypt(Duration target, int minCost, int maxCost) {
+        warmUp(new BCryptPasswordHasher(4));
+
+        int chosen = minCost;
+        for (int cost = minCost; cost <= maxCost; cost++) {
+            long nanos = measure(new BCryptPasswordHasher(cost));
+            log.info("bcrypt cost {} takes {}ms", cost, nanos / 1_000_000);
+            if (nanos > target.toNanos()) {
+                break;
+            }
+            chosen = cost;
+        }
+        return new BCryptPasswordHasher(chosen);
+    }
+
+    public static Argon2idPasswordHasher calibrateArgon2id(Duration target, int minMemoryKib, int maxMemoryKib,
+                                                           int iterations, int parallelism) {
+        warmUp(new Argon2idPasswordHasher(1024, 1, 1));
+
+        int chosen = minMemoryKib;
+        for (int memory = minMemoryKib; memory <= maxMemoryKib; memory *= 2) {
+            long nanos = measure(new Argon2idPasswordHasher(memory, iterations, parallelism));
+            log.info("argon2id m={}KiB,t={},p={} takes {}ms", memory, iterations, parallelism, nanos / 1_000_000);
+            if (nanos > target.toNanos()) {
+                break;
+            }
+            chosen = memory;
+        }
+        return new Argon2idPasswordHasher(chosen, iterations, parallelism);
+    }
+
+    private static void warmUp(PasswordHasher hasher) {
+        for (int i = 0; i < 20; i++) {
+            hasher.hash(SAMPLE_PASSWORD);
+        }
+    }
+
+    private static long measure(PasswordHasher hasher) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long started = System.nanoTime();
+            hasher.hash(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - started);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.assignment.global.ratelimit;
+
+import com.example.assignment.global.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /login, /signup 요청을 DB 조회와 BCrypt 연산 전에 IP, username 기준으로 제한한다.
+ * 허용/거절 수와 버킷 수는 auth.throttle{limiter=ip|username} 로 내보낸다.
+ */
+@Slf4j
+@Getter
+@Component
+public class LoginThrottle implements MeterBinder {
+
+    private final boolean enabled;
+    private final TokenBucketLimiter ipLimiter;
+    private final TokenBucketLimiter usernameLimiter;
+
+    public LoginThrottle(@Value("${auth.throttle.enabled:true}") boolean enabled,
+                         @Value("${auth.throttle.ip.capacity:60}") int ipCapacity,
+                         @Value("${auth.throttle.ip.period:1m}") Duration ipPeriod,
+                         @Value("${auth.throttle.username.capacity:10}") int usernameCapacity,
+                         @Value("${auth.throttle.username.period:1m}") Duration usernamePeriod,
+                         @Value("${auth.throttle.max-keys:500000}") int maxKeys) {
+        this.enabled = enabled;
+        this.ipLimiter = new TokenBucketLimiter(ipCapacity, ipPeriod, maxKeys);
+        this.usernameLimiter = new TokenBucketLimiter(usernameCapacity, usernamePeriod, maxKeys);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        bind(meterRegistry, ipLimiter, "ip");
+        bind(meterRegistry, usernameLimiter, "username");
+    }
+
+    private static void bind(MeterRegistry meterRegistry, TokenBucketLimiter limiter, String name) {
+        FunctionCounter.builder("auth.throttle", limiter, TokenBucketLimiter::getAllowedCount)
+                .description("요청 제한 결과")
+                .tags("limiter", name, "result", "allowed")
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.throttle", limiter, TokenBucketLimiter::getRejectedCount)
+                .description("요청 제한 결과")
+                .tags("limiter", name, "result", "rejected")
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.throttle.evictions", limiter, TokenBucketLimiter::getEvictionCount)
+                .description("키 수 상한 때문에 내보낸 버킷 수")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        Gauge.builder("auth.throttle.keys", limiter, TokenBucketLimiter::size)
+                .description("보관 중인 버킷 수")
+                .tag("limiter", name)
+                .register(meterRegistry);
+    }
+
+    public void checkLogin(String clientIp, String username) {
+        if (!enabled) {
+            return;
+        }
+        reject(ipLimiter.tryAcquire(clientIp));
+        if (username != null) {
+            reject(usernameLimiter.tryAcquire(username));
+        }
+    }
+
+    public void checkSignup(String clientIp) {
+        if (enabled) {
+            reject(ipLimiter.tryAcquire(clientIp));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.throttle.sweep-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        int evicted = ipLimiter.evictIdle() + usernameLimiter.evictIdle();
+        if (evicted > 0) {
+            log.debug("evicted {} idle throttle buckets", evicted);
+        }
+    }
+
+    private void reject(long waitNanos) {
+        if (waitNanos > 0) {
+            long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            throw new TooManyRequestsException(seconds);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.assignment.global.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 키별 토큰 버킷 (GCRA 방식).
+ * 버킷 상태는 "다음 토큰이 완전히 채워지는 시각" 하나뿐이라 CAS 한 번으로 갱신된다.
+ * 그 시각이 지난 버킷은 새 버킷과 같으므로 그때 만료시킨다.
+ * <p>
+ * 버킷은 크기를 max-keys 로 제한한 Caffeine 캐시에 두어, 키가 상한을 넘으면 검사를 건너뛰지 않고
+ * 적게 쓰인 버킷을 내보낸다 (W-TinyLFU). 키를 계속 바꿔도 자주 쓰이는 키의 버킷은 남는다.
+ */
+public class TokenBucketLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier nanoClock;
+    private final Cache<String, AtomicLong> buckets;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    public TokenBucketLimiter(int capacity, Duration period, int maxKeys) {
+        this(capacity, period, maxKeys, System::nanoTime);
+    }
+
+    public TokenBucketLimiter(int capacity, Duration period, int maxKeys, LongSupplier nanoClock) {
+        if (capacity <= 0 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("capacity 와 period 는 0보다 커야 합니다.");
+        }
+        this.emissionIntervalNanos = Math.max(1, period.toNanos() / capacity);
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfter(new RefillExpiry())
+                .ticker(nanoClock::getAsLong)
+                // 만료/제거를 호출한 스레드에서 바로 처리한다 (상한이 요청마다 지켜지도록).
+                .executor(Runnable::run)
+                .evictionListener((String key, AtomicLong bucket, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        evicted.increment();
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * @return 0 이면 허용, 0보다 크면 다음 토큰까지 남은 시간(ns)
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(now));
+
+        while (true) {
+            long current = bucket.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long allowAt = next - burstToleranceNanos;
+            if (allowAt > now) {
+                rejected.increment();
+                return allowAt - now;
+            }
+            if (bucket.compareAndSet(current, next)) {
+                allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 만료된 버킷을 정리한다. 만료된 버킷은 조회되지 않으므로 메모리만 돌려받는다.
+     */
+    public int evictIdle() {
+        long before = buckets.estimatedSize();
+        buckets.cleanUp();
+        return (int) Math.max(0, before - buckets.estimatedSize());
+    }
+
+    public int size() {
+        return (int) buckets.estimatedSize();
+    }
+
+    public long getAllowedCount() {
+        return allowed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * 키 수 상한 때문에 내보낸 버킷 수. 만료로 정리된 버킷은 세지 않는다.
+     */
+    public long getEvictionCount() {
+        return evicted.sum();
+    }
+
+    /**
+     * 조회할 때마다 이번 요청이 토큰을 하나 쓴다고 보고 다음 만료 시각을 정한다. 거절되어 쓰지 않았다면 조금 늦게 만료될 뿐이다.
+     */
+    private final class RefillExpiry implements Expiry<String, AtomicLong> {
+
+        @Override
+        public long expireAfterCreate(String key, AtomicLong bucket, long currentTime) {
+            return emissionIntervalNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, AtomicLong bucket, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, AtomicLong bucket, long currentTime, long currentDuration) {
+            return Math.min(burstToleranceNanos, Math.max(bucket.get(), currentTime) + emissionIntervalNanos - currentTime);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.assignment.global.util;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 여러 생산자, 한 소비자용 고정 크기 링 버퍼. 생산자는 CAS 로 칸을 잡고, 락 없이 넣는다.
+ * 가득 차면 기다리지 않고 {@code false} 를 돌려준다.
+ */
+public class MpscRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong producerIndex = new AtomicLong();
+    // 소비자 스레드만 쓴다.
+    private volatile long consumerIndex;
+
+    /**
+     * @param capacity 2의 거듭제곱으로 올림한다.
+     */
+    public MpscRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity 는 1 이상 2^30 이하여야 합니다.");
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public boolean offer(E element) {
+        Objects.requireNonNull(element);
+        long index;
+        do {
+            index = producerIndex.get();
+            if (index - consumerIndex > mask) {
+                return false;
+            }
+        } while (!producerIndex.compareAndSet(index, index + 1));
+        slots.lazySet((int) index & mask, element);
+        return true;
+    }
+
+    /**
+     * 최대 limit 개를 꺼내 넘긴다. 칸을 잡았지만 아직 쓰지 않은 생산자가 있으면 그 앞에서 멈춘다.
+     * 소비자 스레드 하나에서만 호출해야 한다.
+     */
+    public int drain(Consumer<? super E> consumer, int limit) {
+        long index = consumerIndex;
+        int drained = 0;
+        while (drained < limit) {
+            int offset = (int) index & mask;
+            E element = slots.get(offset);
+            if (element == null) {
+                break;
+            }
+            slots.lazySet(offset, null);
+            consumer.accept(element);
+            index++;
+            drained++;
+        }
+        if (drained > 0) {
+            consumerIndex = index;
+        }
+        return drained;
+    }
+
+    public int size() {
+        return (int) Math.max(0, producerIndex.get() - consumerIndex);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.assignment.global.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 문자열용 스레드 안전 Bloom 필터. 비트 설정은 CAS 로만 수행하므로 락이 없다.
+ */
+public class StringBloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final LongAdder insertions = new LongAdder();
+
+    private StringBloomFilter(long bitSize, int hashFunctions) {
+        this.bitSize = bitSize;
+        this.hashFunctions = hashFunctions;
+        this.words = new AtomicLongArray((int) ((bitSize + 63) >>> 6));
+    }
+
+    /**
+     * @param expectedInsertions 예상 원소 수
+     * @param falsePositiveRate  목표 오탐률
+     * @param maxBytes           비트 배열 최대 크기. 목표 오탐률보다 우선한다.
+     */
+    public static StringBloomFilter create(long expectedInsertions, double falsePositiveRate, long maxBytes) {
+        long n = Math.max(1, expectedInsertions);
+        long optimalBits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2));
+        long maxBits = Math.min(maxBytes * 8, (long) Integer.MAX_VALUE * 64);
+        long bits = Math.max(64, Math.min(optimalBits, maxBits));
+        int k = (int) Math.max(1, Math.round((double) bits / n * LN2));
+        return new StringBloomFilter(bits, Math.min(k, 30));
+    }
+
+    public void put(String value) {
+        long hash = hash64(value);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1L;
+        for (int i = 0; i < hashFunctions; i++) {
+            setBit(Long.remainderUnsigned(h1 + i * h2, bitSize));
+        }
+        insertions.increment();
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash64(value);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1L;
+        for (int i = 0; i < hashFunctions; i++) {
+            if (!getBit(Long.remainderUnsigned(h1 + i * h2, bitSize))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getBitSize() {
+        return bitSize;
+    }
+
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    public long getInsertions() {
+        return insertions.sum();
+    }
+
+    public long getSizeInBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    /**
+     * 현재 삽입 수 기준 예상 오탐률.
+     */
+    public double expectedFalsePositiveRate() {
+        double fill = 1 - Math.exp(-(double) hashFunctions * getInsertions() / bitSize);
+        return Math.pow(fill, hashFunctions);
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!words.compareAndSet(word, current, current | mask));
+    }
+
+    private boolean getBit(long index) {
+        return (words.get((int) (index >>> 6)) & (1L << index)) != 0;
+    }
+
+    private static long hash64(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+}
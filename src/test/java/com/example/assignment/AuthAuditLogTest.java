@@ -0,0 +1,89 @@
+package com.example.assignment;
+
+import com.example.assignment.domain.audit.entity.AuthAuditEvent;
+import com.example.assignment.domain.audit.enums.AuditEventType;
+import com.example.assignment.domain.audit.repository.AuthAuditEventRepository;
+import com.example.assignment.domain.audit.service.AuthAuditLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AuthAuditLogTest {
+
+	private AuthAuditEventRepository repository;
+	private SimpleMeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(AuthAuditEventRepository.class);
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	@Test
+	@DisplayName("쌓인 이벤트를 batch-size 단위로 한 번에 저장")
+	@SuppressWarnings("unchecked")
+	void flushes_in_batches() {
+		List<List<AuthAuditEvent>> saved = new ArrayList<>();
+		when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+			saved.add(new ArrayList<>((List<AuthAuditEvent>) invocation.getArgument(0)));
+			return List.of();
+		});
+		AuthAuditLog auditLog = auditLog(16, 4, AuthAuditLog.OverflowPolicy.DROP);
+
+		for (long i = 1; i <= 6; i++) {
+			auditLog.record(AuditEventType.LOGIN_SUCCESS, i, "user" + i, null);
+		}
+		assertThat(auditLog.getQueueDepth()).isEqualTo(6);
+
+		assertThat(auditLog.flush()).isEqualTo(4);
+		assertThat(auditLog.flush()).isEqualTo(2);
+		assertThat(auditLog.flush()).isZero();
+
+		assertThat(saved).extracting(List::size).containsExactly(4, 2);
+		assertThat(saved.get(1)).extracting(AuthAuditEvent::getUserId).containsExactly(5L, 6L);
+		assertThat(auditLog.getWrittenCount()).isEqualTo(6);
+		assertThat(meterRegistry.get("audit.queue.depth").gauge().value()).isZero();
+	}
+
+	@Test
+	@DisplayName("버퍼가 가득 차면 요청을 막지 않고 버린 수를 셈")
+	void drops_when_full() {
+		AuthAuditLog auditLog = auditLog(4, 4, AuthAuditLog.OverflowPolicy.BLOCK);
+
+		for (int i = 0; i < 6; i++) {
+			auditLog.record(AuditEventType.TOKEN_REJECTED, null, null, "INVALID");
+		}
+
+		assertThat(auditLog.getQueueDepth()).isEqualTo(4);
+		assertThat(auditLog.getDroppedCount()).isEqualTo(2);
+		assertThat(meterRegistry.get("audit.events").tag("result", "dropped").functionCounter().count())
+				.isEqualTo(2.0);
+	}
+
+	@Test
+	@DisplayName("저장에 실패한 배치는 버리고 실패 수를 셈")
+	void counts_failed_batches() {
+		when(repository.saveAll(anyList())).thenThrow(new IllegalStateException("db down"));
+		AuthAuditLog auditLog = auditLog(16, 4, AuthAuditLog.OverflowPolicy.DROP);
+		auditLog.record(AuditEventType.SIGNUP, 1L, "user1", null);
+
+		assertThat(auditLog.flush()).isEqualTo(1);
+
+		assertThat(auditLog.getFailedCount()).isEqualTo(1);
+		assertThat(auditLog.getQueueDepth()).isZero();
+	}
+
+	private AuthAuditLog auditLog(int bufferSize, int batchSize, AuthAuditLog.OverflowPolicy policy) {
+		return new AuthAuditLog(repository, true, bufferSize, batchSize, Duration.ofMillis(200), policy,
+				Duration.ofMillis(1), meterRegistry);
+	}
+}
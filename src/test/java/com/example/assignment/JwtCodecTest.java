@@ -0,0 +1,88 @@
+package com.example.assignment;
+
+import com.example.assignment.config.AccessTokenClaims;
+import com.example.assignment.config.JwtUtil;
+import com.example.assignment.domain.user.enums.UserRole;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JwtCodecTest {
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        String base64Secret = Base64.getEncoder().encodeToString("mytestsecretmytestsecretmytestsecretmytestsecret".getBytes());
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", base64Secret);
+        jwtUtil.init();
+    }
+
+    @Test
+    @DisplayName("발급한 토큰의 클레임을 뷰로 읽기")
+    void verify_token_reads_claims() {
+        String token = jwtUtil.substringToken(jwtUtil.createToken(42L, "user1", UserRole.ADMIN, 3));
+
+        AccessTokenClaims claims = jwtUtil.verifyToken(token);
+
+        assertThat(claims.userId()).isEqualTo(42L);
+        assertThat(claims.subject()).isEqualTo("42");
+        assertThat(claims.username()).isEqualTo("user1");
+        assertThat(claims.role()).isEqualTo(UserRole.ADMIN);
+        assertThat(claims.tokenVersion()).isEqualTo(3);
+        assertThat(jwtUtil.extractClaims(token).get("ver", Integer.class)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("페이로드를 바꾸면 서명 검증 실패")
+    void tampered_payload_is_rejected() {
+        String token = jwtUtil.substringToken(jwtUtil.createToken(1L, "user1", UserRole.USER, 0));
+        String[] parts = token.split("\\.");
+        String forged = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                new String(Base64.getUrlDecoder().decode(parts[1])).replace("USER", "ADMIN").getBytes());
+
+        assertThatThrownBy(() -> jwtUtil.verifyToken(parts[0] + "." + forged + "." + parts[2]))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    @DisplayName("만료된 토큰은 ExpiredJwtException")
+    void expired_token_is_rejected() {
+        ReflectionTestUtils.setField(jwtUtil, "accessTokenExpiration", Duration.ofSeconds(-10));
+        String token = jwtUtil.substringToken(jwtUtil.createToken(1L, "user1", UserRole.USER, 0));
+
+        assertThatThrownBy(() -> jwtUtil.verifyToken(token))
+                .isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    @DisplayName("다른 형태의 토큰과 이스케이프가 필요한 username 은 jjwt 로 처리")
+    void falls_back_to_jjwt_for_other_shapes() {
+        String withExtraClaim = Jwts.builder()
+                .setHeaderParam("typ", "JWT")
+                .setSubject("7")
+                .claim("userRole", "USER")
+                .claim("extra", true)
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith((Key) ReflectionTestUtils.getField(jwtUtil, "key"), SignatureAlgorithm.HS256)
+                .compact();
+        String quoted = jwtUtil.substringToken(jwtUtil.createToken(1L, "us\"er", UserRole.USER, 0));
+
+        assertThat(jwtUtil.verifyToken(withExtraClaim).userId()).isEqualTo(7L);
+        assertThat(jwtUtil.verifyToken(quoted).username()).isEqualTo("us\"er");
+        assertThat(jwtUtil.extractClaims(quoted).get("username", String.class)).isEqualTo("us\"er");
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.assignment;
+
+import com.example.assignment.config.JwtFilter;
+import com.example.assignment.config.JwtUtil;
+import com.example.assignment.config.PublicPaths;
+import com.example.assignment.config.SecurityConfig;
+import com.example.assignment.config.VerifiedTokenCache;
+import com.example.assignment.domain.audit.service.AuthAuditLog;
+import com.example.assignment.domain.user.enums.UserRole;
+import com.example.assignment.domain.user.service.TokenVersionStore;
+import com.example.assignment.global.exception.ErrorCode;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JwtFilterTest {
+
+    private JwtUtil jwtUtil;
+    private JwtFilter jwtFilter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        JwtUtil realJwtUtil = new JwtUtil();
+        String base64Secret = Base64.getEncoder().encodeToString("mytestsecretmytestsecretmytestsecretmytestsecret".getBytes());
+        ReflectionTestUtils.setField(realJwtUtil, "secretKey", base64Secret);
+        realJwtUtil.init();
+        jwtUtil = spy(realJwtUtil);
+
+        TokenVersionStore tokenVersionStore = new TokenVersionStore(null, 100, Duration.ofMinutes(1));
+        tokenVersionStore.update(1L, 0);
+        // 캐시를 끄고 요청마다 서명 검증 횟수를 그대로 센다.
+        meterRegistry = new SimpleMeterRegistry();
+        jwtFilter = new JwtFilter(jwtUtil, new VerifiedTokenCache(false, 0), tokenVersionStore,
+                mock(AuthAuditLog.class), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("같은 요청에 필터가 두 번 걸려도 서명 검증은 한 번")
+    void verifies_signature_once_per_request() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin/users");
+        request.addHeader("Authorization", jwtUtil.createToken(1L, "user1", UserRole.USER, 0));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain innerChain = new MockFilterChain();
+        // 서블릿 필터와 시큐리티 체인에 모두 등록된 상황을 흉내 낸다.
+        FilterChain outerChain = (req, res) -> jwtFilter.doFilter(req, res, innerChain);
+
+        jwtFilter.doFilter(request, response, outerChain);
+
+        verify(jwtUtil, times(1)).verifyToken(anyString());
+        assertThat(innerChain.getRequest()).isSameAs(request);
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("공개 경로는 토큰 검증 없이 통과")
+    void public_path_skips_verification() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        MockFilterChain chain = new MockFilterChain();
+
+        jwtFilter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        verify(jwtUtil, never()).verifyToken(anyString());
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+
+    @Test
+    @DisplayName("공개 경로 매칭")
+    void public_paths_match() {
+        assertThat(PublicPaths.matches("/signup")).isTrue();
+        assertThat(PublicPaths.matches("/swagger-ui/index.html")).isTrue();
+        assertThat(PublicPaths.matches("/v3/api-docs")).isTrue();
+        assertThat(PublicPaths.matches("/v3/api-docs/swagger-config")).isTrue();
+        assertThat(PublicPaths.matches("/admin/users/1/roles")).isFalse();
+        assertThat(PublicPaths.matches("/signupx")).isFalse();
+    }
+
+    @Test
+    @DisplayName("서블릿 필터로 자동 등록되지 않음")
+    void servlet_registration_disabled() {
+        SecurityConfig securityConfig = new SecurityConfig(jwtFilter);
+
+        assertThat(securityConfig.jwtFilterRegistration().isEnabled()).isFalse();
+    }
+
+    @Test
+    @DisplayName("인증 결과별로 필터 처리 시간을 기록")
+    void records_filter_time_by_outcome() throws Exception {
+        String expired = "Bearer " + Jwts.builder()
+                .setSubject("1")
+                .claim("userRole", UserRole.USER.name())
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith((Key) ReflectionTestUtils.getField(jwtUtil, "key"), SignatureAlgorithm.HS256)
+                .compact();
+
+        filter(null);
+        filter("Bearer not-a-jwt");
+        filter(expired);
+        filter(jwtUtil.createToken(1L, "user1", UserRole.USER, 1));
+        filter(jwtUtil.createToken(1L, "user1", UserRole.USER, 0));
+
+        assertThat(outcomeCount("missing")).isEqualTo(1);
+        assertThat(outcomeCount("invalid")).isEqualTo(1);
+        assertThat(outcomeCount("expired")).isEqualTo(1);
+        assertThat(outcomeCount("revoked")).isEqualTo(1);
+        assertThat(outcomeCount("ok")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("거부 응답은 미리 직렬화한 오류 본문으로 바로 작성")
+    void writes_precomputed_error_body() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin/users");
+        request.addHeader("Authorization", "Bearer not-a-jwt");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        jwtFilter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(response.getContentType()).startsWith("application/json");
+        assertThat(response.getContentAsByteArray()).isEqualTo(ErrorCode.INVALID_TOKEN.getJson());
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8))
+                .isEqualTo("{\"error\":{\"code\":\"INVALID_TOKEN\",\"message\":\"유효하지 않은 JWT 토큰입니다.\"}}");
+    }
+
+    private void filter(String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin/users");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        jwtFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        SecurityContextHolder.clearContext();
+    }
+
+    private long outcomeCount(String outcome) {
+        return meterRegistry.get("auth.filter").tag("outcome", outcome).timer().count();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.assignment;
+
+import com.example.assignment.config.JwtUtil;
+import com.example.assignment.domain.user.entity.JwtSigningKey;
+import com.example.assignment.domain.user.enums.UserRole;
+import com.example.assignment.domain.user.repository.JwtSigningKeyRepository;
+import com.example.assignment.domain.user.service.JwtKeyRing;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JwtKeyRingTest {
+
+	private static final String SECRET = Base64.getEncoder()
+			.encodeToString("mytestsecretmytestsecretmytestsecretmytestsecret".getBytes());
+
+	private final List<JwtSigningKey> stored = new ArrayList<>();
+	private final AtomicLong now = new AtomicLong(1_000_000L);
+	private JwtKeyRing keyRing;
+
+	@BeforeEach
+	void setUp() {
+		JwtSigningKeyRepository repository = mock(JwtSigningKeyRepository.class);
+		when(repository.findAllByOrderByActivatesAtAsc()).thenAnswer(invocation -> stored.stream()
+				.sorted(Comparator.comparingLong(JwtSigningKey::getActivatesAt))
+				.toList());
+		when(repository.save(any(JwtSigningKey.class))).thenAnswer(invocation -> {
+			stored.add(invocation.getArgument(0));
+			return invocation.getArgument(0);
+		});
+		doAnswer(invocation -> stored.remove(invocation.<JwtSigningKey>getArgument(0)))
+				.when(repository).delete(any(JwtSigningKey.class));
+
+		keyRing = new JwtKeyRing(repository, SECRET, Duration.ofDays(7), Duration.ofMinutes(10),
+				Duration.ofMinutes(15), Duration.ofMinutes(1), now::get);
+		keyRing.init();
+	}
+
+	@Test
+	@DisplayName("ES256 으로 서명하고 kid 로 공개 키를 찾아 검증")
+	void signs_with_es256_and_verifies_by_kid() {
+		JwtUtil jwtUtil = jwtUtil(true);
+
+		String token = jwtUtil.substringToken(jwtUtil.createToken(1L, "user1", UserRole.USER, 0));
+
+		assertThat(Jwts.parserBuilder().setSigningKey(keyRing.active().publicKey()).build()
+				.parseClaimsJws(token).getHeader().getKeyId()).isEqualTo(keyRing.active().kid());
+		assertThat(jwtUtil.extractClaims(token).getSubject()).isEqualTo("1");
+		assertThat(jwtUtil.verifyToken(token).role()).isEqualTo(UserRole.USER);
+	}
+
+	@Test
+	@DisplayName("새 키는 먼저 공개된 뒤 사용되고, 이전 키는 토큰 만료 후 삭제")
+	void rotates_with_publish_ahead_and_retention() {
+		String first = keyRing.active().kid();
+
+		now.addAndGet(Duration.ofDays(7).toMillis());
+		keyRing.refresh();
+		assertThat(stored).hasSize(2);
+		assertThat(keyRing.active().kid()).isEqualTo(first);
+		assertThat(kids()).hasSize(2);
+
+		now.addAndGet(Duration.ofMinutes(10).toMillis());
+		assertThat(keyRing.active().kid()).isNotEqualTo(first);
+		keyRing.refresh();
+		assertThat(keyRing.publicKey(first)).isNotNull();
+
+		now.addAndGet(Duration.ofMinutes(16).toMillis());
+		keyRing.refresh();
+		assertThat(keyRing.publicKey(first)).isNull();
+		assertThat(kids()).containsExactly(keyRing.active().kid());
+	}
+
+	@Test
+	@DisplayName("HS256 허용을 끄면 kid 없는 기존 토큰은 거부")
+	void rejects_legacy_hs256_when_disabled() {
+		JwtUtil legacy = jwtUtil(true, null);
+		String hs256 = legacy.substringToken(legacy.createToken(1L, "user1", UserRole.USER, 0));
+
+		assertThat(jwtUtil(true).extractClaims(hs256).getSubject()).isEqualTo("1");
+		assertThat(jwtUtil(true).verifyToken(hs256).userId()).isEqualTo(1L);
+		assertThatThrownBy(() -> jwtUtil(false).extractClaims(hs256))
+				.isInstanceOf(JwtException.class);
+		assertThatThrownBy(() -> jwtUtil(false).verifyToken(hs256))
+				.isInstanceOf(JwtException.class);
+	}
+
+	private JwtUtil jwtUtil(boolean acceptHs256) {
+		return jwtUtil(acceptHs256, keyRing);
+	}
+
+	private JwtUtil jwtUtil(boolean acceptHs256, JwtKeyRing ring) {
+		JwtUtil jwtUtil = new JwtUtil();
+		ReflectionTestUtils.setField(jwtUtil, "secretKey", SECRET);
+		ReflectionTestUtils.setField(jwtUtil, "keyRing", ring);
+		ReflectionTestUtils.setField(jwtUtil, "acceptHs256", acceptHs256);
+		jwtUtil.init();
+		return jwtUtil;
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<String> kids() {
+		List<Map<String, Object>> keys = (List<Map<String, Object>>) keyRing.jwks().get("keys");
+		return keys.stream().map(key -> (String) key.get("kid")).toList();
+	}
+}
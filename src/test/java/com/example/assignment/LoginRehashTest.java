@@ -0,0 +1,102 @@
+package com.example.assignment;
+
+import com.example.assignment.config.JwtUtil;
+import com.example.assignment.domain.audit.service.AuthAuditLog;
+import com.example.assignment.domain.user.dto.request.LoginRequest;
+import com.example.assignment.domain.user.dto.request.SignupRequest;
+import com.example.assignment.domain.user.entity.User;
+import com.example.assignment.domain.user.repository.UserRepository;
+import com.example.assignment.domain.user.service.RefreshTokenService;
+import com.example.assignment.domain.user.service.TokenVersionStore;
+import com.example.assignment.domain.user.service.UserCache;
+import com.example.assignment.domain.user.service.UserService;
+import com.example.assignment.domain.user.service.UsernameBloomFilter;
+import com.example.assignment.global.datasource.ReadYourWrites;
+import com.example.assignment.global.password.BCryptPasswordHasher;
+import com.example.assignment.global.password.PasswordHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 인메모리 H2 에서 캐시가 돌려준 사용자를 로그인 중 재해싱해 저장해도 username_key 가 유지되는지 확인한다.
+ */
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:rehash;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LoginRehashTest {
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private UserCache userCache;
+	private UserService userService;
+
+	@BeforeEach
+	void setUp() {
+		userRepository.deleteAllInBatch();
+		userCache = new UserCache(userRepository, new ReadYourWrites(null, false, Duration.ZERO), true, 100,
+				Duration.ofSeconds(30), Duration.ofSeconds(5), new SimpleMeterRegistry());
+		UsernameBloomFilter usernameBloomFilter = mock(UsernameBloomFilter.class);
+		when(usernameBloomFilter.mightContain(anyString())).thenReturn(true);
+		userService = new UserService(userRepository, mock(JwtUtil.class), usernameBloomFilter,
+				alwaysRehash(new BCryptPasswordHasher(4)), mock(TokenVersionStore.class),
+				mock(RefreshTokenService.class), userCache, mock(AuthAuditLog.class));
+	}
+
+	@Test
+	@DisplayName("캐시에서 꺼낸 사용자를 재해싱해 저장해도 username_key 가 남아 다음 로그인도 성공")
+	void rehash_keeps_username_key() {
+		userService.signup(new SignupRequest("Racer", "password", "nick"));
+
+		for (int i = 0; i < 2; i++) {
+			// 로그인이 DB 가 아니라 캐시 스냅숏에서 사용자를 꺼내도록 미리 채운다.
+			userCache.findByUsername("racer");
+			userService.login(new LoginRequest("racer", "password"));
+
+			assertThat(userRepository.findByUsernameKey("racer")).map(User::getUsernameKey).contains("racer");
+		}
+		assertThat(userRepository.existsByUsernameKey("racer")).isTrue();
+	}
+
+	private static PasswordHasher alwaysRehash(PasswordHasher delegate) {
+		return new PasswordHasher() {
+			@Override
+			public String hash(char[] password) {
+				return delegate.hash(password);
+			}
+
+			@Override
+			public boolean verify(char[] password, String hash) {
+				return delegate.verify(password, hash);
+			}
+
+			@Override
+			public boolean supports(String hash) {
+				return delegate.supports(hash);
+			}
+
+			@Override
+			public boolean needsRehash(String hash) {
+				return true;
+			}
+		};
+	}
+}
@@ -0,0 +1,78 @@
+package com.example.assignment;
+
+import com.example.assignment.global.util.MpscRingBuffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MpscRingBufferTest {
+
+    @Test
+    @DisplayName("가득 차면 넣지 않고, 꺼낸 만큼 다시 넣을 수 있음")
+    void rejects_when_full() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(3);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.capacity()).isEqualTo(4);
+        assertThat(buffer.offer(4)).isFalse();
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.drain(drained::add, 2)).isEqualTo(2);
+        assertThat(buffer.offer(4)).isTrue();
+        buffer.drain(drained::add, 10);
+
+        assertThat(drained).containsExactly(0, 1, 2, 3, 4);
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("여러 생산자가 동시에 넣어도 유실이나 중복 없이 순서대로 꺼냄")
+    void concurrent_producers() throws Exception {
+        int producers = 4;
+        int perProducer = 100_000;
+        MpscRingBuffer<long[]> buffer = new MpscRingBuffer<>(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (long i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(new long[]{producer, i})) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long[] next = new long[producers];
+        long received = 0;
+        start.countDown();
+        while (received < (long) producers * perProducer) {
+            received += buffer.drain(e -> {
+                // 생산자별 순서는 유지된다.
+                assertThat(e[1]).isEqualTo(next[(int) e[0]]);
+                next[(int) e[0]]++;
+            }, 256);
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertThat(next).containsOnly(perProducer);
+        assertThat(buffer.size()).isZero();
+    }
+}
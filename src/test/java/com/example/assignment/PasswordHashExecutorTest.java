@@ -0,0 +1,82 @@
+package com.example.assignment;
+
+import com.example.assignment.config.PasswordHashExecutor;
+import com.example.assignment.global.exception.ServerBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PasswordHashExecutorTest {
+
+    private PasswordHashExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new PasswordHashExecutor(1, 1, 3, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("작업 결과를 비동기로 반환")
+    void submit_returns_result() throws Exception {
+        CompletableFuture<String> future = executor.submit(() -> "hashed");
+
+        assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("hashed");
+        assertThat(executor.getSubmittedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 즉시 거절")
+    void submit_rejected_when_saturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> running = executor.submit(() -> {
+            started.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Boolean> queued = executor.submit(() -> true);
+
+        assertThatThrownBy(() -> executor.submit(() -> true))
+                .isInstanceOf(ServerBusyException.class)
+                .extracting("retryAfterSeconds").isEqualTo(3L);
+        assertThat(executor.getRejectedCount()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("작업 수와 큐 대기/실행 시간을 지표로 내보냄")
+    void binds_metrics() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        executor.bindTo(registry);
+
+        executor.submit(() -> "hashed").get(5, TimeUnit.SECONDS);
+
+        assertThat(registry.get("auth.password.executor.tasks").tag("result", "submitted").functionCounter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("auth.password.executor.tasks").tag("result", "rejected").functionCounter().count())
+                .isZero();
+        assertThat(registry.get("auth.password.executor.execution").functionTimer().count()).isEqualTo(1.0);
+        assertThat(registry.get("auth.password.executor.queue.depth").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.assignment;
+
+import com.example.assignment.global.password.Argon2idPasswordHasher;
+import com.example.assignment.global.password.BCryptPasswordHasher;
+import com.example.assignment.global.password.DelegatingPasswordHasher;
+import com.example.assignment.global.password.PasswordHasher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private static final char[] PASSWORD = "password".toCharArray();
+
+    @Test
+    @DisplayName("BCrypt 해시 검증 및 비용 변경 감지 - 설정보다 높은 비용은 낮추지 않음")
+    void bcrypt_verify_and_needs_rehash() {
+        BCryptPasswordHasher hasher = new BCryptPasswordHasher(4);
+        String hash = hasher.hash(PASSWORD);
+
+        assertThat(hasher.verify(PASSWORD, hash)).isTrue();
+        assertThat(hasher.verify("wrong".toCharArray(), hash)).isFalse();
+        assertThat(hasher.needsRehash(hash)).isFalse();
+        assertThat(new BCryptPasswordHasher(5).needsRehash(hash)).isTrue();
+        assertThat(hasher.needsRehash(new BCryptPasswordHasher(5).hash(PASSWORD))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Argon2id 해시 검증 및 파라미터 변경 감지 - 어느 파라미터도 낮추지 않음")
+    void argon2id_verify_and_needs_rehash() {
+        Argon2idPasswordHasher hasher = new Argon2idPasswordHasher(1024, 1, 1);
+        String hash = hasher.hash(PASSWORD);
+
+        assertThat(hash).startsWith("$argon2id$v=19$m=1024,t=1,p=1$");
+        assertThat(hasher.verify(PASSWORD, hash)).isTrue();
+        assertThat(hasher.verify("wrong".toCharArray(), hash)).isFalse();
+        assertThat(hasher.needsRehash(hash)).isFalse();
+        assertThat(new Argon2idPasswordHasher(2048, 1, 1).needsRehash(hash)).isTrue();
+        assertThat(hasher.needsRehash(new Argon2idPasswordHasher(2048, 1, 1).hash(PASSWORD))).isFalse();
+        // 메모리는 설정보다 낮지만 반복 횟수가 높으므로 설정값으로 다시 만들면 반복 횟수가 낮아진다.
+        assertThat(new Argon2idPasswordHasher(2048, 1, 1).needsRehash(new Argon2idPasswordHasher(1024, 2, 1).hash(PASSWORD)))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("기존 BCrypt 해시도 검증하고 기본 알고리즘으로 재해싱 대상 표시")
+    void delegating_verifies_legacy_hash() {
+        BCryptPasswordHasher bcrypt = new BCryptPasswordHasher(4);
+        Argon2idPasswordHasher argon2 = new Argon2idPasswordHasher(1024, 1, 1);
+        PasswordHasher hasher = new DelegatingPasswordHasher(argon2, List.of(bcrypt, argon2));
+        String legacyHash = bcrypt.hash(PASSWORD);
+
+        assertThat(hasher.verify(PASSWORD, legacyHash)).isTrue();
+        assertThat(hasher.needsRehash(legacyHash)).isTrue();
+        assertThat(hasher.needsRehash(hasher.hash(PASSWORD))).isFalse();
+    }
+}
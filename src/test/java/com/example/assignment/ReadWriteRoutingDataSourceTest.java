@@ -0,0 +1,75 @@
+package com.example.assignment;
+
+import com.example.assignment.global.datasource.ReadWriteRoutingDataSource;
+import com.example.assignment.global.datasource.ReadYourWrites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 인메모리 H2 두 개를 primary/replica 로 두고 어느 쪽에서 읽었는지 확인한다.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+    private ReadYourWrites readYourWrites;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = ReadWriteRoutingDataSource.create(embedded("primary"), embedded("replica"));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+        readYourWrites = new ReadYourWrites(transactionManager, true, Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 replica, 쓰기 트랜잭션과 트랜잭션 밖 쿼리는 primary")
+    void routes_by_transaction_read_only_flag() {
+        String readOnlyNode = readOnly.execute(status -> node());
+        String readWriteNode = readWrite.execute(status -> node());
+
+        assertThat(readOnlyNode).isEqualTo("replica");
+        assertThat(readWriteNode).isEqualTo("primary");
+        assertThat(node()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("방금 쓴 키는 읽기 전용 조회라도 primary 에서 읽음")
+    void reads_own_writes_from_primary() {
+        readYourWrites.markWritten("user:username:user1");
+
+        String written = readYourWrites.read("user:username:user1", () -> readOnly.execute(status -> node()));
+        String untouched = readYourWrites.read("user:username:user2", () -> readOnly.execute(status -> node()));
+
+        assertThat(written).isEqualTo("primary");
+        assertThat(untouched).isEqualTo("replica");
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static DataSource embedded(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table node (name varchar(16))");
+        jdbc.update("insert into node values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.assignment;
+
+import com.example.assignment.config.JwtUtil;
+import com.example.assignment.domain.user.dto.response.TokenResponse;
+import com.example.assignment.domain.user.entity.RefreshToken;
+import com.example.assignment.domain.user.entity.User;
+import com.example.assignment.domain.user.enums.UserRole;
+import com.example.assignment.domain.user.repository.RefreshTokenRepository;
+import com.example.assignment.domain.user.repository.UserRepository;
+import com.example.assignment.domain.user.service.RefreshTokenService;
+import com.example.assignment.domain.user.service.RefreshTokenStore;
+import com.example.assignment.domain.user.service.TokenVersionStore;
+import com.example.assignment.domain.user.service.UserCache;
+import com.example.assignment.global.datasource.ReadYourWrites;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceTest {
+
+	@Mock
+	private RefreshTokenRepository refreshTokenRepository;
+
+	@Mock
+	private UserRepository userRepository;
+
+	@Mock
+	private JwtUtil jwtUtil;
+
+	private RefreshTokenStore refreshTokenStore;
+	private RefreshTokenService refreshTokenService;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		refreshTokenStore = new RefreshTokenStore(100);
+		UserCache userCache = new UserCache(userRepository, new ReadYourWrites(null, false, Duration.ZERO), true, 100,
+				Duration.ofSeconds(30), Duration.ofSeconds(5), new SimpleMeterRegistry());
+		refreshTokenService = new RefreshTokenService(refreshTokenRepository, refreshTokenStore, userCache,
+				mock(TokenVersionStore.class), jwtUtil);
+		ReflectionTestUtils.setField(refreshTokenService, "refreshTokenExpiration", Duration.ofDays(1));
+	}
+
+	@Test
+	@DisplayName("리프레시 토큰 교체 성공 - 비밀번호 검증 없이 새 토큰 발급")
+	void rotate_success() {
+		User user = User.builder()
+				.id(1L)
+				.username("testuser")
+				.role(UserRole.USER)
+				.build();
+		String refreshToken = refreshTokenService.issue(1L);
+
+		when(refreshTokenRepository.deleteByTokenHash(RefreshTokenService.hash(refreshToken))).thenReturn(1);
+		when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+		when(jwtUtil.createToken(1L, "testuser", UserRole.USER, 0)).thenReturn("access");
+
+		TokenResponse response = refreshTokenService.rotate(refreshToken);
+
+		assertThat(response.getToken()).isEqualTo("access");
+		assertThat(response.getRefreshToken()).isNotEqualTo(refreshToken);
+		verify(refreshTokenRepository, never()).findById(anyString());
+		verify(refreshTokenRepository, times(2)).save(any(RefreshToken.class));
+	}
+
+	@Test
+	@DisplayName("전체 로그아웃하면 메모리 저장소의 그 사용자 토큰도 바로 지움")
+	void revoke_all_evicts_store() {
+		String first = refreshTokenService.issue(1L);
+		String second = refreshTokenService.issue(1L);
+		String other = refreshTokenService.issue(2L);
+
+		refreshTokenService.revokeAll(1L);
+
+		verify(refreshTokenRepository).deleteAllByUserId(1L);
+		assertThat(refreshTokenStore.get(RefreshTokenService.hash(first))).isNull();
+		assertThat(refreshTokenStore.get(RefreshTokenService.hash(second))).isNull();
+		assertThat(refreshTokenStore.get(RefreshTokenService.hash(other))).isNotNull();
+		assertThat(refreshTokenStore.size()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("리프레시 토큰 재사용 실패")
+	void rotate_fail_reused_token() {
+		String refreshToken = refreshTokenService.issue(1L);
+		when(refreshTokenRepository.deleteByTokenHash(anyString())).thenReturn(0);
+
+		assertThatThrownBy(() -> refreshTokenService.rotate(refreshToken))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("유효하지 않은 리프레시 토큰입니다.");
+		verifyNoInteractions(userRepository);
+	}
+
+	@Test
+	@DisplayName("알 수 없는 리프레시 토큰 실패")
+	void rotate_fail_unknown_token() {
+		when(refreshTokenRepository.findById(anyString())).thenReturn(Optional.empty());
+
+		assertThatThrownBy(() -> refreshTokenService.rotate("unknown"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("유효하지 않은 리프레시 토큰입니다.");
+		verify(refreshTokenRepository, never()).deleteByTokenHash(anyString());
+	}
+}
@@ -0,0 +1,157 @@
+package com.example.assignment;
+
+import com.example.assignment.config.JwtUtil;
+import com.example.assignment.config.StatementLogConfig;
+import com.example.assignment.domain.audit.service.AuthAuditLog;
+import com.example.assignment.domain.user.dto.request.SignupRequest;
+import com.example.assignment.domain.user.repository.UserRepository;
+import com.example.assignment.domain.user.service.RefreshTokenService;
+import com.example.assignment.domain.user.service.TokenVersionStore;
+import com.example.assignment.domain.user.service.UserCache;
+import com.example.assignment.domain.user.service.UserService;
+import com.example.assignment.domain.user.service.UsernameBloomFilter;
+import com.example.assignment.global.datasource.ReadYourWrites;
+import com.example.assignment.global.datasource.StatementLog;
+import com.example.assignment.global.exception.UserAlreadyExistsException;
+import com.example.assignment.global.password.BCryptPasswordHasher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 인메모리 H2 에 동시에 가입시켜 username_key 유니크 인덱스로 중복을 막는지, 가입 한 번에 user 테이블 문장이
+ * INSERT 하나뿐인지 확인한다. 문장 수는 {@link StatementLog} 의 db.statement 타이머로 센다.
+ */
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:signup;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.show-sql=false",
+		"db.statement-log.enabled=true",
+		"db.statement-log.sample-rate=0"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({StatementLogConfig.class, StatementLog.class, SignupConcurrencyTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SignupConcurrencyTest {
+
+	private static final int THREADS = 16;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private UserService userService;
+
+	@TestConfiguration
+	static class Metrics {
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+	}
+
+	@BeforeEach
+	void setUp() {
+		userRepository.deleteAllInBatch();
+		UserCache userCache = new UserCache(userRepository, new ReadYourWrites(null, false, Duration.ZERO), true, 100,
+				Duration.ofSeconds(30), Duration.ofSeconds(5), new SimpleMeterRegistry());
+		userService = new UserService(userRepository, mock(JwtUtil.class), mock(UsernameBloomFilter.class),
+				new BCryptPasswordHasher(4), mock(TokenVersionStore.class), mock(RefreshTokenService.class),
+				userCache, mock(AuthAuditLog.class));
+	}
+
+	@Test
+	@DisplayName("대소문자, 공백만 다른 username 으로 동시에 가입하면 하나만 성공하고 나머지는 중복 오류")
+	void concurrent_duplicate_signups_one_wins() throws Exception {
+		String[] variants = {"racer", "Racer", " RACER", "racer ", "rAcEr"};
+
+		List<Object> outcomes = signupConcurrently(THREADS * 4,
+				i -> new SignupRequest(variants[i % variants.length], "password", "nick" + i));
+
+		assertThat(outcomes).filteredOn(UserAlreadyExistsException.class::isInstance).hasSize(THREADS * 4 - 1);
+		assertThat(outcomes).filteredOn(String.class::isInstance).hasSize(1);
+		assertThat(userRepository.count()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("동시 가입은 모두 성공하고, 가입 한 번에 user 테이블 문장은 INSERT 하나뿐 (중복 확인 SELECT 없음)")
+	void concurrent_signups_insert_once_each() throws Exception {
+		int signups = THREADS * 25;
+		long selectsBefore = statements("select");
+		long insertsBefore = statements("insert");
+
+		List<Object> outcomes = signupConcurrently(signups, i -> new SignupRequest("user" + i, "password", "nick"));
+
+		assertThat(outcomes).allMatch(String.class::isInstance);
+		assertThat(statements("insert") - insertsBefore).isEqualTo(signups);
+		// 기존 방식은 가입마다 existsByUsername 의 SELECT 가 한 번 더 있었다.
+		assertThat(statements("select") - selectsBefore).isZero();
+		assertThat(userRepository.count()).isEqualTo(signups);
+	}
+
+	/**
+	 * 모든 스레드가 준비된 뒤 한꺼번에 가입을 시작한다. 결과는 성공한 username 이나 던진 예외다.
+	 */
+	private List<Object> signupConcurrently(int count, IntFunction<SignupRequest> request) throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<Object>> futures = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				SignupRequest signup = request.apply(i);
+				futures.add(executor.submit((Callable<Object>) () -> {
+					start.await();
+					return userService.signup(signup).getUsername();
+				}));
+			}
+			start.countDown();
+
+			List<Object> outcomes = new ArrayList<>(count);
+			for (Future<Object> future : futures) {
+				try {
+					outcomes.add(future.get());
+				} catch (ExecutionException e) {
+					outcomes.add(e.getCause());
+				}
+			}
+			return outcomes;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private long statements(String operation) {
+		Timer timer = meterRegistry.find("db.statement").tag("operation", operation).tag("table", "user").timer();
+		return timer != null ? timer.count() : 0;
+	}
+}
@@ -0,0 +1,88 @@
+package com.example.assignment;
+
+import com.example.assignment.global.datasource.StatementLog;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 인메모리 H2 를 datasource-proxy 로 감싸 문장 타이머와 로그 선별을 확인한다. 쓰기 스레드 대신 flush() 를 직접 호출한다.
+ */
+class StatementLogTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("모든 문장을 operation, table 태그의 타이머에 기록")
+    void records_statement_timer() {
+        JdbcTemplate jdbcTemplate = jdbc(new StatementLog(Duration.ofHours(1), 0, 16, Duration.ofMillis(100), registry));
+
+        jdbcTemplate.update("insert into node values (?, ?)", 1, "a");
+        jdbcTemplate.update("insert into node values (?, ?)", 2, "b");
+        jdbcTemplate.queryForList("select name from node where id = ?", String.class, 1);
+
+        Timer insert = registry.get("db.statement").tag("operation", "insert").tag("table", "node").timer();
+        Timer select = registry.get("db.statement").tag("operation", "select").tag("table", "node").timer();
+        assertThat(insert.count()).isEqualTo(2);
+        assertThat(select.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("서로 다른 SQL 이 타이머 상한을 넘으면 overflow 타이머 하나에 기록")
+    void records_overflow_timer_after_cap() {
+        JdbcTemplate jdbcTemplate = jdbc(new StatementLog(Duration.ofHours(1), 0, 16, Duration.ofMillis(100), registry));
+
+        // create table 까지 1000개를 채운 뒤 10개가 넘친다.
+        for (int i = 0; i < 1009; i++) {
+            jdbcTemplate.queryForList("select name from node where id = " + i, String.class);
+        }
+
+        Timer select = registry.get("db.statement").tag("operation", "select").tag("table", "node").timer();
+        Timer overflow = registry.get("db.statement").tag("operation", "other").tag("table", "overflow").timer();
+        assertThat(select.count()).isEqualTo(999);
+        assertThat(overflow.count()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("임계값을 넘은 문장과 표본만 로그로 남김")
+    void logs_slow_and_sampled_only() {
+        StatementLog slowOnly = new StatementLog(Duration.ZERO, 0, 16, Duration.ofMillis(100), registry);
+        jdbc(slowOnly).queryForList("select name from node", String.class);
+        assertThat(slowOnly.flush()).isEqualTo(2);   // create table + select
+        assertThat(slowOnly.getSlowCount()).isEqualTo(2);
+        assertThat(slowOnly.getSampledCount()).isZero();
+
+        StatementLog none = new StatementLog(Duration.ofHours(1), 0, 16, Duration.ofMillis(100), new SimpleMeterRegistry());
+        jdbc(none).queryForList("select name from node", String.class);
+        assertThat(none.flush()).isZero();
+
+        StatementLog sampled = new StatementLog(Duration.ofHours(1), 1.0, 4, Duration.ofMillis(100), new SimpleMeterRegistry());
+        JdbcTemplate jdbcTemplate = jdbc(sampled);
+        for (int i = 0; i < 10; i++) {
+            jdbcTemplate.queryForList("select name from node", String.class);
+        }
+        // 버퍼(4)를 넘은 로그는 버린다.
+        assertThat(sampled.flush()).isEqualTo(4);
+        assertThat(sampled.getSampledCount()).isEqualTo(4);
+        assertThat(sampled.getDroppedCount()).isEqualTo(7);
+    }
+
+    private static JdbcTemplate jdbc(StatementLog statementLog) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:statement-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(ProxyDataSourceBuilder.create(dataSource)
+                .listener(statementLog)
+                .build());
+        jdbcTemplate.execute("create table node (id int primary key, name varchar(16))");
+        return jdbcTemplate;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.assignment;
+
+import com.example.assignment.global.util.StringBloomFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StringBloomFilterTest {
+
+    @Test
+    @DisplayName("추가한 값은 항상 포함으로 판정")
+    void no_false_negatives() {
+        StringBloomFilter filter = StringBloomFilter.create(10_000, 0.01, 1 << 20);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("user" + i)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("오탐률이 설정값 근처로 유지")
+    void false_positive_rate_bounded() {
+        StringBloomFilter filter = StringBloomFilter.create(10_000, 0.01, 1 << 20);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("absent" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    @DisplayName("메모리 상한 적용")
+    void capped_by_max_bytes() {
+        StringBloomFilter filter = StringBloomFilter.create(10_000_000, 0.001, 1024);
+
+        assertThat(filter.getSizeInBytes()).isLessThanOrEqualTo(1024);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.assignment;
+
+import com.example.assignment.global.ratelimit.TokenBucketLimiter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TokenBucketLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    @DisplayName("버킷 용량만큼 허용 후 거절")
+    void rejects_after_capacity() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, Duration.ofMinutes(1), 100, clock::get);
+
+        assertThat(limiter.tryAcquire("1.2.3.4")).isZero();
+        assertThat(limiter.tryAcquire("1.2.3.4")).isZero();
+        assertThat(limiter.tryAcquire("1.2.3.4")).isZero();
+        assertThat(limiter.tryAcquire("1.2.3.4")).isPositive();
+        assertThat(limiter.tryAcquire("5.6.7.8")).isZero();
+        assertThat(limiter.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("시간이 지나면 토큰이 다시 채워짐")
+    void refills_over_time() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, Duration.ofSeconds(2), 100, clock::get);
+        limiter.tryAcquire("user");
+        limiter.tryAcquire("user");
+        assertThat(limiter.tryAcquire("user")).isPositive();
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        assertThat(limiter.tryAcquire("user")).isZero();
+        assertThat(limiter.tryAcquire("user")).isPositive();
+    }
+
+    @Test
+    @DisplayName("완전히 채워진 버킷은 제거")
+    void evicts_idle_buckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(5, Duration.ofSeconds(5), 100, clock::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+
+        assertThat(limiter.evictIdle()).isZero();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThat(limiter.evictIdle()).isEqualTo(2);
+        assertThat(limiter.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("키 수 상한에 도달해도 새 키를 제한 없이 통과시키지 않음")
+    void limits_new_keys_when_full() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, Duration.ofMinutes(1), 10, clock::get);
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire("10.0.0." + i);
+        }
+
+        assertThat(limiter.tryAcquire("victim")).isZero();
+        assertThat(limiter.tryAcquire("victim")).isZero();
+        assertThat(limiter.tryAcquire("victim")).isZero();
+        assertThat(limiter.tryAcquire("victim")).isPositive();
+        assertThat(limiter.size()).isLessThanOrEqualTo(10);
+        assertThat(limiter.getEvictionCount()).isPositive();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.assignment;
+
+import com.example.assignment.domain.audit.service.AuthAuditLog;
+import com.example.assignment.domain.user.dto.request.RoleChangeRequest;
+import com.example.assignment.domain.user.dto.response.RoleChangeResponse;
+import com.example.assignment.domain.user.dto.response.RoleChangeResult;
+import com.example.assignment.domain.user.dto.response.UserPageResponse;
+import com.example.assignment.domain.user.dto.response.UserSummary;
+import com.example.assignment.domain.user.enums.UserRole;
+import com.example.assignment.domain.user.repository.UserRepository;
+import com.example.assignment.domain.user.repository.UserShards;
+import com.example.assignment.domain.user.service.TokenVersionStore;
+import com.example.assignment.domain.user.service.UserAdminService;
+import com.example.assignment.domain.user.service.UserCache;
+import com.example.assignment.global.datasource.ReadYourWrites;
+import com.example.assignment.global.datasource.ShardedSequenceGenerator;
+import com.example.assignment.global.exception.AdminRequiredException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserAdminServiceTest {
+
+	private UserRepository userRepository;
+	private TokenVersionStore tokenVersionStore;
+	private UserAdminService userAdminService;
+
+	@BeforeEach
+	void setUp() {
+		userRepository = mock(UserRepository.class);
+		tokenVersionStore = mock(TokenVersionStore.class);
+		UserCache userCache = new UserCache(userRepository, new ReadYourWrites(null, false, Duration.ZERO), true, 100,
+				Duration.ofSeconds(30), Duration.ofSeconds(5), new SimpleMeterRegistry());
+		userAdminService = new UserAdminService(userRepository, tokenVersionStore, userCache, mock(AuthAuditLog.class),
+				UserShards.single(), mock(PlatformTransactionManager.class), new ObjectMapper(), 10);
+	}
+
+	@Test
+	@DisplayName("목록 - 한 행 더 읽어 다음 커서를 계산")
+	void list_users_returns_next_cursor() {
+		when(userRepository.findSummariesAfter(eq(10L), any(Pageable.class)))
+				.thenReturn(List.of(summary(11), summary(12), summary(13)));
+
+		UserPageResponse page = userAdminService.listUsers("ADMIN", 10L, 2);
+
+		assertThat(page.getUsers()).extracting(UserSummary::getId).containsExactly(11L, 12L);
+		assertThat(page.getNextCursor()).isEqualTo(12L);
+		verify(userRepository).findSummariesAfter(10L, Pageable.ofSize(3));
+	}
+
+	@Test
+	@DisplayName("목록 - 마지막 페이지는 다음 커서 없음, 관리자만 조회")
+	void list_users_last_page_and_admin_only() {
+		when(userRepository.findSummariesAfter(anyLong(), any(Pageable.class))).thenReturn(List.of(summary(1)));
+
+		assertThat(userAdminService.listUsers("ADMIN", 0L, 50).getNextCursor()).isNull();
+		assertThatThrownBy(() -> userAdminService.listUsers("USER", 0L, 50))
+				.isInstanceOf(AdminRequiredException.class);
+	}
+
+	@Test
+	@DisplayName("내보내기 - 한 줄에 사용자 하나, password 없음")
+	void export_writes_ndjson() throws Exception {
+		when(userRepository.streamAllSummaries()).thenReturn(LongStream.rangeClosed(1, 2).mapToObj(i -> summary(i)));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		long written = userAdminService.exportUsers("ADMIN", out);
+
+		assertThat(written).isEqualTo(2);
+		assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+				"{\"id\":1,\"username\":\"user1\",\"nickname\":\"nick1\",\"role\":\"USER\"}\n"
+						+ "{\"id\":2,\"username\":\"user2\",\"nickname\":\"nick2\",\"role\":\"USER\"}\n");
+	}
+
+	@Test
+	@DisplayName("일괄 역할 변경 - 바뀌는 사용자만 한 번의 UPDATE 로 반영하고 행별 결과 반환")
+	void change_roles_reports_each_id() {
+		List<UserRepository.RoleView> locked = List.of(roleView(1L, UserRole.USER, 4), roleView(2L, UserRole.ADMIN, 0));
+		when(userRepository.lockRolesByIdIn(List.of(1L, 2L, 3L))).thenReturn(locked);
+		when(userRepository.updateRoles(List.of(1L), UserRole.ADMIN)).thenReturn(1);
+
+		RoleChangeResponse response = userAdminService.changeRoles("ADMIN",
+				new RoleChangeRequest(List.of(3L, 1L, 2L, 1L), UserRole.ADMIN));
+
+		assertThat(response.getRequested()).isEqualTo(3);
+		assertThat(response.getUpdated()).isEqualTo(1);
+		assertThat(response.getResults()).extracting(RoleChangeResult::getUserId, RoleChangeResult::getStatus)
+				.containsExactly(tuple(3L, "NOT_FOUND"), tuple(1L, "UPDATED"), tuple(2L, "UNCHANGED"));
+		verify(userRepository, times(1)).updateRoles(anyCollection(), any(UserRole.class));
+		verify(tokenVersionStore).update(1L, 5);
+		verifyNoMoreInteractions(tokenVersionStore);
+	}
+
+	@Test
+	@DisplayName("일괄 역할 변경 - 없는 샤드를 가리키는 id 는 조회하지 않고 NOT_FOUND")
+	void change_roles_skips_ids_of_unknown_shards() {
+		UserCache userCache = new UserCache(userRepository, new ReadYourWrites(null, false, Duration.ZERO), true, 100,
+				Duration.ofSeconds(30), Duration.ofSeconds(5), new SimpleMeterRegistry());
+		userAdminService = new UserAdminService(userRepository, tokenVersionStore, userCache, mock(AuthAuditLog.class),
+				new UserShards(2), mock(PlatformTransactionManager.class), new ObjectMapper(), 10);
+		long known = ShardedSequenceGenerator.encode(7, 1);
+		long unknown = ShardedSequenceGenerator.encode(7, 5);
+		List<UserRepository.RoleView> locked = List.of(roleView(known, UserRole.ADMIN, 0));
+		when(userRepository.lockRolesByIdIn(List.of(known))).thenReturn(locked);
+
+		RoleChangeResponse response = userAdminService.changeRoles("ADMIN",
+				new RoleChangeRequest(List.of(unknown, known), UserRole.ADMIN));
+
+		assertThat(response.getResults()).extracting(RoleChangeResult::getUserId, RoleChangeResult::getStatus)
+				.containsExactly(tuple(unknown, "NOT_FOUND"), tuple(known, "UNCHANGED"));
+		verify(userRepository).lockRolesByIdIn(List.of(known));
+	}
+
+	@Test
+	@DisplayName("일괄 역할 변경 - 최대 건수 초과, 관리자만 가능")
+	void change_roles_validates_request() {
+		List<Long> tooMany = LongStream.rangeClosed(1, 11).boxed().toList();
+
+		assertThatThrownBy(() -> userAdminService.changeRoles("ADMIN", new RoleChangeRequest(tooMany, UserRole.ADMIN)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> userAdminService.changeRoles("USER", new RoleChangeRequest(List.of(1L), UserRole.ADMIN)))
+				.isInstanceOf(AdminRequiredException.class);
+		verifyNoInteractions(userRepository);
+	}
+
+	private static UserRepository.RoleView roleView(Long id, UserRole role, int tokenVersion) {
+		UserRepository.RoleView view = mock(UserRepository.RoleView.class);
+		when(view.getId()).thenReturn(id);
+		when(view.getUsername()).thenReturn("user" + id);
+		when(view.getRole()).thenReturn(role);
+		when(view.getTokenVersion()).thenReturn(tokenVersion);
+		return view;
+	}
+
+	private static UserSummary summary(long id) {
+		return new UserSummary(id, "user" + id, "nick" + id, UserRole.USER);
+	}
+}
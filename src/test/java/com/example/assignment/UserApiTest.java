@@ -1,20 +1,39 @@
 package com.example.assignment;
 
 import com.example.assignment.config.JwtUtil;
+import com.example.assignment.domain.audit.enums.AuditEventType;
+import com.example.assignment.domain.audit.service.AuthAuditLog;
 import com.example.assignment.domain.user.dto.request.LoginRequest;
 import com.example.assignment.domain.user.dto.request.SignupRequest;
+import com.example.assignment.domain.user.dto.response.TokenResponse;
 import com.example.assignment.domain.user.dto.response.UserResponse;
 import com.example.assignment.domain.user.entity.User;
 import com.example.assignment.domain.user.enums.UserRole;
 import com.example.assignment.domain.user.repository.UserRepository;
+import com.example.assignment.domain.user.service.RefreshTokenService;
+import com.example.assignment.domain.user.service.TokenVersionStore;
+import com.example.assignment.domain.user.service.UserCache;
 import com.example.assignment.domain.user.service.UserService;
+import com.example.assignment.domain.user.service.UsernameBloomFilter;
+import com.example.assignment.global.datasource.ReadYourWrites;
+import com.example.assignment.global.exception.AuthException;
+import com.example.assignment.global.exception.GlobalExceptionHandler;
+import com.example.assignment.global.password.BCryptPasswordHasher;
+import com.example.assignment.global.password.PasswordHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.hibernate.exception.ConstraintViolationException;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -28,19 +47,37 @@ class UserApiTest {
 	@Mock
 	private JwtUtil jwtUtil;
 
-	@InjectMocks
+	@Mock
+	private UsernameBloomFilter usernameBloomFilter;
+
+	@Spy
+	private PasswordHasher passwordHasher = new BCryptPasswordHasher(12);
+
+	@Mock
+	private TokenVersionStore tokenVersionStore;
+
+	@Mock
+	private RefreshTokenService refreshTokenService;
+
+	@Mock
+	private AuthAuditLog authAuditLog;
+
 	private UserService userService;
 
 	@BeforeEach
 	void setUp() {
 		MockitoAnnotations.openMocks(this);
+		when(usernameBloomFilter.mightContain(anyString())).thenReturn(true);
+		UserCache userCache = new UserCache(userRepository, new ReadYourWrites(null, false, Duration.ZERO), true, 100,
+				Duration.ofSeconds(30), Duration.ofSeconds(5), new SimpleMeterRegistry());
+		userService = new UserService(userRepository, jwtUtil, usernameBloomFilter, passwordHasher,
+				tokenVersionStore, refreshTokenService, userCache, authAuditLog);
 	}
 
 	@Test
 	@DisplayName("회원가입 성공")
 	void signup_success() {
 		SignupRequest request = new SignupRequest("testuser", "password", "tester");
-		when(userRepository.existsByUsername("testuser")).thenReturn(false);
 
 		UserResponse response = userService.signup(request);
 
@@ -53,13 +90,39 @@ class UserApiTest {
 	@DisplayName("회원가입 실패 - 중복 유저")
 	void signup_fail_duplicate() {
 		SignupRequest request = new SignupRequest("testuser", "password", "tester");
-		when(userRepository.existsByUsername("testuser")).thenReturn(true);
+		when(userRepository.save(any(User.class))).thenThrow(violation("PUBLIC.UK_USER_USERNAME_KEY_INDEX_2 ON PUBLIC.USER"));
 
 		assertThatThrownBy(() -> userService.signup(request))
 				.isInstanceOf(IllegalArgumentException.class)
 				.hasMessage("이미 가입된 사용자입니다.");
 	}
 
+	@Test
+	@DisplayName("회원가입 실패 - username 인덱스가 아닌 무결성 위반은 중복 오류로 바꾸지 않음")
+	void signup_fail_other_violation_not_duplicate() {
+		SignupRequest request = new SignupRequest("testuser", "password", "tester");
+		DataIntegrityViolationException notNull = violation(null);
+		when(userRepository.save(any(User.class))).thenThrow(notNull);
+
+		assertThatThrownBy(() -> userService.signup(request)).isSameAs(notNull);
+		verify(usernameBloomFilter, never()).add(anyString());
+	}
+
+	@Test
+	@DisplayName("로그인 - 대소문자, 앞뒤 공백만 다른 username 은 정규화한 값으로 찾음")
+	void login_normalizes_username() {
+		User user = User.builder()
+				.id(1L)
+				.username("testuser")
+				.password(passwordHasher.hash("password".toCharArray()))
+				.role(UserRole.USER)
+				.build();
+		when(userRepository.findByUsernameKey("testuser")).thenReturn(Optional.of(user));
+		when(jwtUtil.createToken(1L, "testuser", UserRole.USER, 0)).thenReturn("token");
+
+		assertThat(userService.login(new LoginRequest(" TestUser", "password")).getToken()).isEqualTo("token");
+	}
+
 	@Test
 	@DisplayName("로그인 성공")
 	void login_success() {
@@ -73,23 +136,74 @@ class UserApiTest {
 				.role(UserRole.USER)
 				.build();
 
-		when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
-		when(jwtUtil.createToken(1L, "testuser", UserRole.USER)).thenReturn("token");
+		when(userRepository.findByUsernameKey("testuser")).thenReturn(Optional.of(user));
+		when(jwtUtil.createToken(1L, "testuser", UserRole.USER, 0)).thenReturn("token");
+		when(refreshTokenService.issue(1L)).thenReturn("refresh");
 
-		String token = userService.login(new LoginRequest("testuser", "password"));
-		assertThat(token).isEqualTo("token");
+		TokenResponse token = userService.login(new LoginRequest("testuser", "password"));
+		assertThat(token.getToken()).isEqualTo("token");
+		assertThat(token.getRefreshToken()).isEqualTo("refresh");
+	}
+
+	@Test
+	@DisplayName("로그인 성공 - 이전 비용의 해시는 재해싱")
+	void login_success_rehash_outdated_hash() {
+		String outdatedHash = at.favre.lib.crypto.bcrypt.BCrypt.withDefaults()
+				.hashToString(4, "password".toCharArray());
+
+		User user = User.builder()
+				.id(1L)
+				.username("testuser")
+				.password(outdatedHash)
+				.role(UserRole.USER)
+				.build();
+
+		when(userRepository.findByUsernameKey("testuser")).thenReturn(Optional.of(user));
+		when(jwtUtil.createToken(1L, "testuser", UserRole.USER, 0)).thenReturn("token");
+
+		userService.login(new LoginRequest("testuser", "password"));
+
+		verify(userRepository).save(user);
+		assertThat(user.getPassword()).startsWith("$2a$12$");
+		assertThat(passwordHasher.verify("password".toCharArray(), user.getPassword())).isTrue();
 	}
 
 	@Test
 	@DisplayName("로그인 실패 - 아이디 없음")
 	void login_fail_no_user() {
-		when(userRepository.findByUsername("nouser")).thenReturn(Optional.empty());
+		when(userRepository.findByUsernameKey("nouser")).thenReturn(Optional.empty());
 
 		assertThatThrownBy(() -> userService.login(new LoginRequest("nouser", "pass")))
 				.isInstanceOf(IllegalArgumentException.class)
 				.hasMessage("아이디 또는 비밀번호가 올바르지 않습니다.");
 	}
 
+	@Test
+	@DisplayName("로그인 실패 - 필터에 없는 아이디는 DB 조회 없이 동일한 오류 응답")
+	void login_fail_filtered_user_same_error_response() {
+		when(userRepository.findByUsernameKey("nouser")).thenReturn(Optional.empty());
+		String fromDb = errorBodyOf(() -> userService.login(new LoginRequest("nouser", "pass")));
+
+		when(usernameBloomFilter.mightContain("nouser")).thenReturn(false);
+		clearInvocations(userRepository);
+		String fromFilter = errorBodyOf(() -> userService.login(new LoginRequest("nouser", "pass")));
+
+		verifyNoInteractions(userRepository);
+		assertThat(fromFilter).isEqualTo(fromDb);
+		assertThat(fromFilter).contains("\"code\":\"INVALID_CREDENTIALS\"");
+	}
+
+	@Test
+	@DisplayName("회원가입 - 중복 조회 없이 INSERT 한 번")
+	void signup_skips_exists_query() {
+		userService.signup(new SignupRequest("newuser", "password", "tester"));
+
+		verify(userRepository, never()).existsByUsernameKey(anyString());
+		verify(userRepository).save(any(User.class));
+		verify(userRepository, never()).findByUsernameKey(anyString());
+		verify(usernameBloomFilter).add("newuser");
+	}
+
 	@Test
 	@DisplayName("로그인 실패 - 비밀번호 불일치")
 	void login_fail_wrong_password() {
@@ -103,11 +217,12 @@ class UserApiTest {
 				.role(UserRole.USER)
 				.build();
 
-		when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+		when(userRepository.findByUsernameKey("testuser")).thenReturn(Optional.of(user));
 
 		assertThatThrownBy(() -> userService.login(new LoginRequest("testuser", "wrongpass")))
 				.isInstanceOf(IllegalArgumentException.class)
 				.hasMessage("아이디 또는 비밀번호가 올바르지 않습니다.");
+		verify(authAuditLog).record(AuditEventType.LOGIN_FAILURE, 1L, "testuser", "BAD_PASSWORD");
 	}
 
 	@Test
@@ -123,6 +238,26 @@ class UserApiTest {
 
 		UserResponse response = userService.promoteToAdmin(2L, "ADMIN");
 		assertThat(response.getRoles().getRole()).isEqualTo(UserRole.ADMIN);
+		verify(tokenVersionStore).update(2L, 1);
+	}
+
+	@Test
+	@DisplayName("로그아웃 - 토큰 버전 증가")
+	void logout_increases_token_version() {
+		User user = User.builder()
+				.id(3L)
+				.username("target")
+				.role(UserRole.USER)
+				.tokenVersion(4)
+				.build();
+
+		when(userRepository.findById(3L)).thenReturn(Optional.of(user));
+
+		userService.logout(3L);
+
+		assertThat(user.getTokenVersion()).isEqualTo(5);
+		verify(tokenVersionStore).update(3L, 5);
+		verify(refreshTokenService).revokeAll(3L);
 	}
 
 	@Test
@@ -142,4 +277,20 @@ class UserApiTest {
 				.isInstanceOf(IllegalArgumentException.class)
 				.hasMessage("사용자를 찾을 수 없습니다.");
 	}
-}
\ No newline at end of file
+
+	private static String errorBodyOf(Runnable call) {
+		try {
+			call.run();
+		} catch (AuthException e) {
+			ResponseEntity<byte[]> response = new GlobalExceptionHandler().handleAuth(e);
+			assertThat(response.getStatusCode().value()).isEqualTo(401);
+			return new String(response.getBody(), StandardCharsets.UTF_8);
+		}
+		throw new AssertionError("예외가 발생하지 않았습니다.");
+	}
+
+	private static DataIntegrityViolationException violation(String constraintName) {
+		return new DataIntegrityViolationException("could not execute statement",
+				new ConstraintViolationException("could not execute statement", new SQLException(), constraintName));
+	}
+}
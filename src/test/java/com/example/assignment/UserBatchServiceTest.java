@@ -0,0 +1,122 @@
+package com.example.assignment;
+
+import com.example.assignment.config.PasswordHashExecutor;
+import com.example.assignment.domain.audit.service.AuthAuditLog;
+import com.example.assignment.domain.user.dto.request.SignupRequest;
+import com.example.assignment.domain.user.dto.response.SignupBatchResponse;
+import com.example.assignment.domain.user.dto.response.SignupBatchResult;
+import com.example.assignment.domain.user.entity.User;
+import com.example.assignment.domain.user.repository.UserRepository;
+import com.example.assignment.domain.user.service.UserBatchService;
+import com.example.assignment.domain.user.service.UserCache;
+import com.example.assignment.domain.user.service.UsernameBloomFilter;
+import com.example.assignment.global.datasource.ReadYourWrites;
+import com.example.assignment.global.exception.AdminRequiredException;
+import com.example.assignment.global.password.BCryptPasswordHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserBatchServiceTest {
+
+	@Mock
+	private UserRepository userRepository;
+
+	@Mock
+	private UsernameBloomFilter usernameBloomFilter;
+
+	private PasswordHashExecutor passwordHashExecutor;
+	private UserBatchService userBatchService;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		passwordHashExecutor = new PasswordHashExecutor(2, 10, 1, 0);
+		UserCache userCache = new UserCache(userRepository, new ReadYourWrites(null, false, Duration.ZERO), true, 100,
+				Duration.ofSeconds(30), Duration.ofSeconds(5), new SimpleMeterRegistry());
+		userBatchService = new UserBatchService(userRepository, passwordHashExecutor, usernameBloomFilter,
+				new BCryptPasswordHasher(4), userCache, mock(AuthAuditLog.class));
+		ReflectionTestUtils.setField(userBatchService, "maxBatchSize", 10);
+	}
+
+	@AfterEach
+	void tearDown() {
+		passwordHashExecutor.shutdown();
+	}
+
+	@Test
+	@DisplayName("배치 가입 - 행별 결과 반환")
+	@SuppressWarnings("unchecked")
+	void signup_batch_reports_each_row() {
+		when(userRepository.findExistingUsernameKeys(anyCollection())).thenReturn(List.of("existing"));
+
+		SignupBatchResponse response = userBatchService.signupBatch("ADMIN", List.of(
+				new SignupRequest("new1", "password", "n1"),
+				new SignupRequest("existing", "password", "n2"),
+				new SignupRequest("new1", "password", "n3"),
+				new SignupRequest("", "password", "n4"),
+				new SignupRequest("new2", "password", "n5")
+		));
+
+		assertThat(response.getRequested()).isEqualTo(5);
+		assertThat(response.getCreated()).isEqualTo(2);
+		assertThat(response.getResults())
+				.extracting(SignupBatchResult::getCode)
+				.containsExactly(null, "USER_ALREADY_EXISTS", "DUPLICATE_IN_REQUEST", "INVALID_REQUEST", null);
+
+		ArgumentCaptor<List<User>> saved = ArgumentCaptor.forClass(List.class);
+		verify(userRepository).saveAll(saved.capture());
+		assertThat(saved.getValue()).extracting(User::getUsername).containsExactly("new1", "new2");
+		verify(userRepository, times(1)).findExistingUsernameKeys(anyCollection());
+	}
+
+	@Test
+	@DisplayName("배치 가입 - ASCII 밖의 문자가 든 username 은 INVALID_REQUEST")
+	void signup_batch_rejects_non_ascii_username() {
+		SignupBatchResponse response = userBatchService.signupBatch("ADMIN", List.of(
+				new SignupRequest("caf\u00e9", "password", "n1"),
+				new SignupRequest("tab\tuser", "password", "n2")
+		));
+
+		assertThat(response.getCreated()).isZero();
+		assertThat(response.getResults())
+				.extracting(SignupBatchResult::getCode)
+				.containsExactly("INVALID_REQUEST", "INVALID_REQUEST");
+	}
+
+	@Test
+	@DisplayName("배치 가입 실패 - 최대 건수 초과")
+	void signup_batch_fail_too_large() {
+		List<SignupRequest> requests = IntStream.range(0, 11)
+				.mapToObj(i -> new SignupRequest("user" + i, "password", "nick"))
+				.toList();
+
+		assertThatThrownBy(() -> userBatchService.signupBatch("ADMIN", requests))
+				.isInstanceOf(IllegalArgumentException.class);
+		verifyNoInteractions(userRepository);
+	}
+
+	@Test
+	@DisplayName("배치 가입 실패 - 관리자가 아님")
+	void signup_batch_fail_not_admin() {
+		List<SignupRequest> requests = List.of(new SignupRequest("user", "password", "nick"));
+
+		assertThatThrownBy(() -> userBatchService.signupBatch("USER", requests))
+				.isInstanceOf(AdminRequiredException.class);
+		verifyNoInteractions(userRepository);
+	}
+}
@@ -0,0 +1,134 @@
+package com.example.assignment;
+
+import com.example.assignment.domain.user.entity.User;
+import com.example.assignment.domain.user.enums.UserRole;
+import com.example.assignment.domain.user.repository.UserRepository;
+import com.example.assignment.domain.user.service.UserCache;
+import com.example.assignment.global.datasource.ReadYourWrites;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserCacheTest {
+
+	private UserRepository userRepository;
+	private SimpleMeterRegistry meterRegistry;
+	private UserCache userCache;
+
+	@BeforeEach
+	void setUp() {
+		userRepository = mock(UserRepository.class);
+		meterRegistry = new SimpleMeterRegistry();
+		userCache = new UserCache(userRepository, new ReadYourWrites(null, false, Duration.ZERO), true, 100,
+				Duration.ofSeconds(30), Duration.ofSeconds(5), meterRegistry);
+	}
+
+	@Test
+	@DisplayName("username 으로 읽은 사용자는 id 조회에서도 DB 를 거치지 않음")
+	void caches_by_username_and_id() {
+		User user = user(UserRole.USER);
+		when(userRepository.findByUsernameKey("user1")).thenReturn(Optional.of(user));
+
+		assertThat(userCache.findByUsername("user1")).containsSame(user);
+		User cached = userCache.findByUsername("user1").orElseThrow();
+
+		assertThat(cached).isNotSameAs(user);
+		assertThat(cached.getPassword()).isEqualTo(user.getPassword());
+		assertThat(userCache.findById(1L)).map(User::getTokenVersion).contains(2);
+		verify(userRepository, times(1)).findByUsernameKey("user1");
+		verify(userRepository, never()).findById(anyLong());
+		assertThat(meterRegistry.get("cache.gets").tag("cache", "user.by-username").tag("result", "hit")
+				.functionCounter().count()).isEqualTo(1.0);
+	}
+
+	@Test
+	@DisplayName("권한이 바뀐 사용자는 캐시에서 지워 다시 읽음")
+	void evicts_on_role_change() {
+		User user = user(UserRole.USER);
+		when(userRepository.findByUsernameKey("user1")).thenReturn(Optional.of(user));
+		userCache.findByUsername("user1");
+
+		user.setRole(UserRole.ADMIN);
+		userCache.evict(user);
+
+		assertThat(userCache.findById(1L)).isEmpty();
+		assertThat(userCache.findByUsername("user1")).map(User::getRole).contains(UserRole.ADMIN);
+		verify(userRepository, times(2)).findByUsernameKey("user1");
+	}
+
+	@Test
+	@DisplayName("없는 username 은 가입 전까지 다시 조회하지 않음")
+	void negative_entry_until_signup() {
+		when(userRepository.findByUsernameKey("nouser")).thenReturn(Optional.empty());
+
+		assertThat(userCache.findByUsername("nouser")).isEmpty();
+		assertThat(userCache.findByUsername("nouser")).isEmpty();
+		verify(userRepository, times(1)).findByUsernameKey("nouser");
+
+		userCache.evictUsername("nouser");
+		userCache.findByUsername("nouser");
+		verify(userRepository, times(2)).findByUsernameKey("nouser");
+	}
+
+	@Test
+	@DisplayName("대소문자, 앞뒤 공백만 다른 username 은 같은 항목으로 찾음")
+	void finds_by_normalized_username() {
+		User user = user(UserRole.USER);
+		when(userRepository.findByUsernameKey("user1")).thenReturn(Optional.of(user));
+
+		assertThat(userCache.findByUsername("User1 ")).containsSame(user);
+		assertThat(userCache.findByUsername("USER1")).map(User::getId).contains(1L);
+		verify(userRepository, times(1)).findByUsernameKey("user1");
+	}
+
+	@Test
+	@DisplayName("negative-ttl 이 0 이면 없는 username 을 기억하지 않음")
+	void negative_caching_disabled() {
+		userCache = new UserCache(userRepository, new ReadYourWrites(null, false, Duration.ZERO), true, 100,
+				Duration.ofSeconds(30), Duration.ZERO, new SimpleMeterRegistry());
+		when(userRepository.findByUsernameKey("nouser")).thenReturn(Optional.empty());
+
+		userCache.findByUsername("nouser");
+		userCache.findByUsername("nouser");
+
+		verify(userRepository, times(2)).findByUsernameKey("nouser");
+	}
+
+	@Test
+	@DisplayName("스냅샷의 토큰 버전이 현재 버전과 다르면 DB 에서 역할과 버전을 다시 읽음")
+	void refreshes_stale_snapshot_before_issuing() {
+		User user = user(UserRole.USER);
+		when(userRepository.findByUsernameKey("user1")).thenReturn(Optional.of(user));
+		User cached = userCache.findByUsername("user1").orElseThrow();
+
+		assertThat(userCache.refreshIfStale(cached, 2)).containsSame(cached);
+		verify(userRepository, never()).findById(anyLong());
+
+		// 다른 인스턴스에서 권한을 바꿔 버전이 올라갔다.
+		User promoted = user(UserRole.ADMIN);
+		promoted.increaseTokenVersion();
+		when(userRepository.findById(1L)).thenReturn(Optional.of(promoted));
+
+		assertThat(userCache.refreshIfStale(cached, 3)).map(User::getRole).contains(UserRole.ADMIN);
+		assertThat(userCache.findByUsername("user1")).map(User::getTokenVersion).contains(3);
+		verify(userRepository, times(1)).findById(1L);
+	}
+
+	private static User user(UserRole role) {
+		return User.builder()
+				.id(1L)
+				.username("user1")
+				.password("hash")
+				.nickname("nick")
+				.role(role)
+				.tokenVersion(2)
+				.build();
+	}
+}
@@ -0,0 +1,129 @@
+package com.example.assignment;
+
+import com.example.assignment.domain.audit.service.AuthAuditLog;
+import com.example.assignment.domain.user.entity.User;
+import com.example.assignment.domain.user.enums.UserRole;
+import com.example.assignment.domain.user.repository.UserRepository;
+import com.example.assignment.domain.user.repository.UserShards;
+import com.example.assignment.domain.user.service.TokenVersionStore;
+import com.example.assignment.domain.user.service.UserAdminService;
+import com.example.assignment.domain.user.service.UserCache;
+import com.example.assignment.global.datasource.ReadYourWrites;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 인메모리 H2 에 사용자를 넣고 내보내기가 모든 행을 읽기 전용 트랜잭션 안에서 스트리밍해 쓰는지 확인한다.
+ */
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:export;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserExportTest {
+
+	// fetch size(1000)와 flush 간격(1000)을 넘도록 넣는다.
+	private static final int ROWS = 2_500;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private UserAdminService userAdminService;
+
+	@BeforeEach
+	void setUp() {
+		userRepository.deleteAllInBatch();
+		List<User> users = new ArrayList<>(ROWS);
+		for (int i = 1; i <= ROWS; i++) {
+			users.add(User.builder()
+					.username("user" + i)
+					.password("hash")
+					.nickname("nick" + i)
+					.role(UserRole.USER)
+					.build());
+		}
+		userRepository.saveAll(users);
+
+		UserCache userCache = new UserCache(userRepository, new ReadYourWrites(null, false, Duration.ZERO), true, 100,
+				Duration.ofSeconds(30), Duration.ofSeconds(5), new SimpleMeterRegistry());
+		userAdminService = new UserAdminService(userRepository, mock(TokenVersionStore.class), userCache,
+				mock(AuthAuditLog.class), UserShards.single(), transactionManager, new ObjectMapper(), 10);
+	}
+
+	@Test
+	@DisplayName("내보내기 - 모든 행을 읽기 전용 트랜잭션 안에서 스트리밍하며 id 순으로 씀")
+	void export_streams_rows_in_read_only_transaction() throws Exception {
+		TransactionCheckingOutputStream out = new TransactionCheckingOutputStream();
+
+		long written = userAdminService.exportUsers("ADMIN", out);
+
+		assertThat(written).isEqualTo(ROWS);
+		assertThat(out.lines).isEqualTo(ROWS);
+		// 마지막 flush 는 트랜잭션이 끝난 뒤에 일어나므로 트랜잭션 밖의 쓰기는 허용한다.
+		assertThat(out.readOnlyWrites).isPositive();
+		assertThat(out.readWriteWrites).isZero();
+		assertThat(out.first.toString()).startsWith("{\"id\":").contains("\"username\":\"user1\"")
+				.doesNotContain("password");
+		assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+	}
+
+	/**
+	 * 출력은 버리고 줄 수와 첫 줄만 남긴다. 쓸 때마다 어떤 트랜잭션 안인지 센다.
+	 */
+	private static class TransactionCheckingOutputStream extends OutputStream {
+
+		private final StringBuilder first = new StringBuilder();
+		private long lines;
+		private long readOnlyWrites;
+		private long readWriteWrites;
+
+		@Override
+		public void write(int b) {
+			if (lines == 0 && b != '\n') {
+				first.append((char) b);
+			}
+			if (b == '\n') {
+				lines++;
+			}
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			if (TransactionSynchronizationManager.isActualTransactionActive()) {
+				if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+					readOnlyWrites++;
+				} else {
+					readWriteWrites++;
+				}
+			}
+			for (int i = off; i < off + len; i++) {
+				write(b[i]);
+			}
+		}
+	}
+}
@@ -0,0 +1,150 @@
+package com.example.assignment;
+
+import com.example.assignment.domain.user.dto.response.UserSummary;
+import com.example.assignment.domain.user.entity.User;
+import com.example.assignment.domain.user.enums.UserRole;
+import com.example.assignment.domain.user.repository.UserRepository;
+import com.example.assignment.domain.user.repository.UserShardRouter;
+import com.example.assignment.domain.user.repository.UserShards;
+import com.example.assignment.global.datasource.ShardContext;
+import com.example.assignment.global.datasource.ShardRoutingDataSource;
+import com.example.assignment.global.datasource.ShardedSequenceGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 인메모리 H2 세 개를 샤드로 두고 라우팅을 확인한다.
+ */
+class UserShardingTest {
+
+    private static final int SHARDS = 3;
+
+    private final UserShards shards = new UserShards(SHARDS);
+    private UserShardRouter router;
+
+    @AfterEach
+    void tearDown() {
+        if (router != null) {
+            router.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("묶은 샤드로 가고, 트랜잭션은 첫 쿼리의 샤드에 끝까지 묶임")
+    void routes_to_bound_shard() {
+        DataSource dataSource = ShardRoutingDataSource.create(
+                IntStream.range(0, SHARDS).mapToObj(i -> embedded("shard" + i)).toList());
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        assertThat(jdbcTemplate.queryForObject("select name from node", String.class)).isEqualTo("shard0");
+        ShardContext.run(2, shard ->
+                assertThat(jdbcTemplate.queryForObject("select name from node", String.class)).isEqualTo("shard2"));
+
+        transaction.executeWithoutResult(status -> {
+            ShardContext.run(1, shard -> jdbcTemplate.queryForObject("select name from node", String.class));
+            assertThat(ShardRoutingDataSource.currentTransactionShard()).isEqualTo(1);
+            assertThat(jdbcTemplate.queryForObject("select name from node", String.class)).isEqualTo("shard1");
+        });
+        assertThat(ShardRoutingDataSource.currentTransactionShard()).isNull();
+    }
+
+    @Test
+    @DisplayName("username 은 정규화한 값으로 샤드를 정하고, id 는 하위 비트의 샤드로 돌아감")
+    void shard_of_username_and_id() {
+        assertThat(shards.ofUsername(" Alice ")).isEqualTo(shards.ofUsername("alice"));
+        assertThat(IntStream.range(0, 1000).map(i -> shards.ofUsername("user" + i)).distinct().count())
+                .isEqualTo(SHARDS);
+
+        long id = ShardedSequenceGenerator.encode(12345, 2);
+        assertThat(shards.ofId(id)).isEqualTo(2);
+        assertThat(id >> ShardedSequenceGenerator.SHARD_BITS).isEqualTo(12345);
+        assertThatThrownBy(() -> shards.ofId(ShardedSequenceGenerator.encode(1, SHARDS)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(UserShards.single().ofId(ShardedSequenceGenerator.encode(1, 5))).isZero();
+    }
+
+    @Test
+    @DisplayName("username 조회는 한 샤드로, 목록은 모든 샤드에서 읽어 id 순으로 합침")
+    void router_routes_and_scatters() {
+        UserRepository target = mock(UserRepository.class);
+        Set<Integer> lookedUp = ConcurrentHashMap.newKeySet();
+        when(target.findByUsernameKey(anyString())).thenAnswer(invocation -> {
+            lookedUp.add(ShardContext.current());
+            return Optional.empty();
+        });
+        // 샤드 s 는 id 하위 비트가 s 인 사용자를 갖고 있다.
+        when(target.findSummariesAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            int shard = ShardContext.current();
+            return LongStream.rangeClosed(1, 3)
+                    .mapToObj(n -> new UserSummary(ShardedSequenceGenerator.encode(n, shard), "u", "n", UserRole.USER))
+                    .toList();
+        });
+        UserRepository repository = routed(target);
+
+        repository.findByUsernameKey("alice");
+        assertThat(lookedUp).containsExactly(shards.ofUsername("alice"));
+
+        List<UserSummary> page = repository.findSummariesAfter(0L, Pageable.ofSize(4));
+        assertThat(page).extracting(UserSummary::getId).containsExactly(
+                ShardedSequenceGenerator.encode(1, 0), ShardedSequenceGenerator.encode(1, 1),
+                ShardedSequenceGenerator.encode(1, 2), ShardedSequenceGenerator.encode(2, 0));
+        verify(target, times(SHARDS)).findSummariesAfter(anyLong(), any(Pageable.class));
+        assertThat(ShardContext.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("규칙이 없는 메서드는 모든 샤드에서 실행해 합치고, 묶인 샤드가 있으면 그 샤드에서만 실행")
+    void router_fans_out_unrouted_methods() {
+        UserRepository target = mock(UserRepository.class);
+        when(target.findAll()).thenAnswer(invocation -> List.of(
+                User.builder().id(ShardedSequenceGenerator.encode(1, ShardContext.current())).build()));
+        UserRepository repository = routed(target);
+
+        assertThat(repository.findAll()).extracting(User::getId).containsExactlyInAnyOrder(
+                ShardedSequenceGenerator.encode(1, 0), ShardedSequenceGenerator.encode(1, 1),
+                ShardedSequenceGenerator.encode(1, 2));
+        ShardContext.run(1, shard -> assertThat(repository.findAll()).extracting(User::getId)
+                .containsExactly(ShardedSequenceGenerator.encode(1, 1)));
+        verify(target, times(SHARDS + 1)).findAll();
+    }
+
+    private UserRepository routed(UserRepository target) {
+        router = new UserShardRouter(shards, mock(PlatformTransactionManager.class));
+        ProxyFactory factory = new ProxyFactory();
+        factory.setTarget(target);
+        factory.addInterface(UserRepository.class);
+        factory.addAdvice(router);
+        return (UserRepository) factory.getProxy();
+    }
+
+    private static DataSource embedded(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table node (name varchar(16))");
+        jdbc.update("insert into node values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.assignment;
+
+import com.example.assignment.config.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private static final long ONE_HOUR = 60 * 60 * 1000L;
+
+    @Test
+    @DisplayName("검증된 토큰 캐시 적중")
+    void cached_token_hit() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 10);
+        String key = cache.keyOf("header.payload.signature");
+        cache.put(key, new VerifiedTokenCache.Entry(1L, "1", "USER", 0, System.currentTimeMillis() + ONE_HOUR));
+
+        VerifiedTokenCache.Entry entry = cache.get(cache.keyOf("header.payload.signature"));
+
+        assertThat(entry).isNotNull();
+        assertThat(entry.principal()).isEqualTo("1");
+        assertThat(entry.authority()).isEqualTo("USER");
+        assertThat(cache.getHitCount()).isEqualTo(1);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        assertThat(registry.get("auth.jwt.cache").tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("만료된 토큰은 캐시에서 제거")
+    void expired_token_evicted() {
+        AtomicLong now = new AtomicLong(1_000_000L);
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 10, now::get);
+        String key = cache.keyOf("expired");
+        cache.put(key, new VerifiedTokenCache.Entry(1L, "1", "USER", 0, now.get() + 50));
+        assertThat(cache.get(key)).isNotNull();
+
+        now.addAndGet(50);
+
+        assertThat(cache.get(key)).isNull();
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 항목을 내보내 크기를 유지")
+    void bounded_by_max_size() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 2);
+        long exp = System.currentTimeMillis() + ONE_HOUR;
+        for (int i = 0; i < 100; i++) {
+            cache.put(cache.keyOf("token" + i), new VerifiedTokenCache.Entry(i, String.valueOf(i), "USER", 0, exp));
+        }
+
+        assertThat(cache.size()).isEqualTo(2);
+    }
+}